@@ -0,0 +1,74 @@
+package com.shoppinglist.mgmt.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.shoppinglist.mgmt.dto.ItemResponse;
+import com.shoppinglist.mgmt.model.Item;
+import com.shoppinglist.mgmt.repository.ItemRepository;
+import com.shoppinglist.mgmt.service.RecommendationService;
+import com.shoppinglist.mgmt.suggestionengine.ItemPrefixIndex;
+import com.shoppinglist.mgmt.util.AppUtils;
+import com.shoppinglist.mgmt.util.CodeGenerator;
+
+/**
+ * Throughput of the item name autocomplete, through {@link RecommendationService#findItemsStartingWith}
+ * (prefix index lookup and DTO mapping) and on the {@link ItemPrefixIndex} alone.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AutocompleteBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	int itemCount;
+
+	private ItemPrefixIndex itemPrefixIndex;
+
+	private RecommendationService recommendationService;
+
+	private List<String> prefixes;
+
+	@Setup
+	public void setUp() {
+		List<Item> items = SyntheticData.items(itemCount, 42);
+		ItemRepository itemRepository = SyntheticData.itemRepository(items);
+		itemPrefixIndex = new ItemPrefixIndex(itemRepository);
+		itemPrefixIndex.rebuild();
+		recommendationService = new RecommendationService(itemRepository, null, new AppUtils(new CodeGenerator(0)), null, itemPrefixIndex, null);
+
+		Random random = new Random(7);
+		prefixes = new ArrayList<>(1024);
+		for (int i = 0; i < 1024; i++) {
+			String name = items.get(random.nextInt(items.size())).getItemName();
+			prefixes.add(name.substring(0, 3 + random.nextInt(3)));
+		}
+	}
+
+	@Benchmark
+	public ItemResponse findItemsStartingWith(InputCursor cursor) {
+		return recommendationService.findItemsStartingWith(cursor.next(prefixes), 10);
+	}
+
+	@Benchmark
+	public List<Item> prefixIndexLookup(InputCursor cursor) {
+		return itemPrefixIndex.findByPrefix(cursor.next(prefixes), 10);
+	}
+}
@@ -0,0 +1,21 @@
+package com.shoppinglist.mgmt.benchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per thread position in the benchmark inputs, so every invocation works on another input.
+ */
+@State(Scope.Thread)
+public class InputCursor {
+
+	private int position;
+
+	public <T> T next(List<T> inputs) {
+		T input = inputs.get(position);
+		position = (position + 1) % inputs.size();
+		return input;
+	}
+}
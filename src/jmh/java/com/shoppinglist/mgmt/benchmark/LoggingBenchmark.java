@@ -0,0 +1,146 @@
+package com.shoppinglist.mgmt.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppinglist.mgmt.ShoppingListApplication;
+
+/**
+ * Throughput of GET /shoppinglist/{code} on 8 threads, through HTTP, the security filter, the controller,
+ * the service and the repository of the application started on H2 with the given profile:
+ * - default: INFO entry logs of the controllers and services, and the SQL statements printed by show-sql,
+ *   written synchronously by the request threads
+ * - prod: DEBUG entry logs which are disabled, no SQL, the remaining events go through the AsyncAppender
+ * The application is configured by logback-spring.xml, as when it is deployed, instead of the logback-test.xml
+ * of the benchmarks which is also on the classpath. The console(logs and show-sql) is redirected to a file so
+ * the JMH output stays readable.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+	private static final String API_BASE_PATH = "/api/v1/";
+
+	@Param({ "default", "prod" })
+	String profile;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+	private PrintStream originalOut;
+
+	private PrintStream console;
+
+	private Path logDirectory;
+
+	private ConfigurableApplicationContext application;
+
+	private String baseUrl;
+
+	private String token;
+
+	private List<String> codes;
+
+	@Setup
+	public void setUp() throws IOException, InterruptedException {
+		logDirectory = Files.createTempDirectory("logging-benchmark");
+		console = new PrintStream(new BufferedOutputStream(Files.newOutputStream(logDirectory.resolve("console.log"))),
+				false, StandardCharsets.UTF_8);
+		originalOut = System.out;
+		System.setOut(console);
+
+		application = SpringApplication.run(ShoppingListApplication.class, "--server.port=0",
+				"--spring.profiles.active=" + profile, "--spring.datasource.url=jdbc:h2:mem:loggingbenchmark",
+				"--logging.config=classpath:logback-spring.xml");
+		baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort()
+				+ API_BASE_PATH;
+
+		HttpResponse<byte[]> login = send(post("auth/login", Map.of("username", "admin")));
+		token = objectMapper.readTree(login.body()).path("token").asText();
+		codes = new ArrayList<>(64);
+		for (int i = 0; i < 64; i++) {
+			Map<String, Object> list = Map.of("name", "Benchmark list " + i, "items",
+					List.of(Map.of("itemCode", "item1245460", "itemQuantity", 1),
+							Map.of("itemCode", "item1245462", "itemQuantity", 2)));
+			HttpResponse<byte[]> created = send(post("shoppinglist", list));
+			if (created.statusCode() != 200) {
+				throw new IllegalStateException("The shopping list could not be created, status " + created.statusCode());
+			}
+			codes.add(objectMapper.readTree(created.body()).path("code").asText());
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		application.close();
+		System.setOut(originalOut);
+		console.close();
+		try (Stream<Path> files = Files.walk(logDirectory)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Benchmark
+	public int fetchShoppingList(InputCursor cursor) throws IOException, InterruptedException {
+		return send(HttpRequest.newBuilder(URI.create(baseUrl + "shoppinglist/" + cursor.next(codes)))
+				.header("Accept", "application/json")
+				.header("Authorization", "Bearer " + token)
+				.GET()
+				.build()).statusCode();
+	}
+
+	private HttpRequest post(String path, Object body) throws IOException {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Content-Type", "application/json")
+				.header("Accept", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return builder.build();
+	}
+
+	private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+		return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+	}
+}
@@ -0,0 +1,83 @@
+package com.shoppinglist.mgmt.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppinglist.mgmt.suggestionengine.BasicRuleRecommendationEngine;
+import com.shoppinglist.mgmt.suggestionengine.RecommendationEngineContext;
+import com.shoppinglist.mgmt.suggestionengine.RecommendationRule;
+import com.shoppinglist.mgmt.suggestionengine.RecommendationRuleStore;
+import com.shoppinglist.mgmt.suggestionengine.RecommendationStrategyType;
+import com.shoppinglist.mgmt.suggestionengine.ScoredItem;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Throughput of the BASIC engine, directly and through the {@link RecommendationEngineContext},
+ * for shopping lists of 10 items matching a few rules.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class RecommendationEngineBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	int itemCount;
+
+	@Param({ "10", "10000" })
+	int ruleCount;
+
+	private BasicRuleRecommendationEngine engine;
+
+	private RecommendationEngineContext context;
+
+	private List<List<String>> shoppingLists;
+
+	@Setup
+	public void setUp() throws IOException {
+		List<RecommendationRule> rules = SyntheticData.rules(ruleCount, itemCount, 42);
+		ObjectMapper objectMapper = new ObjectMapper();
+		Path rulesFile = Files.createTempFile("benchmark-rules", ".json");
+		try {
+			objectMapper.writeValue(rulesFile.toFile(), Map.of("rules", rules));
+			RecommendationRuleStore ruleStore = new RecommendationRuleStore(new FileSystemResource(rulesFile),
+					objectMapper, new SimpleMeterRegistry());
+			engine = new BasicRuleRecommendationEngine(ruleStore);
+		} finally {
+			Files.delete(rulesFile);
+		}
+		context = new RecommendationEngineContext(List.of(engine), new SimpleMeterRegistry());
+		shoppingLists = SyntheticData.shoppingLists(1024, 10, itemCount, rules, 7);
+	}
+
+	@Benchmark
+	public List<String> basicSuggest(InputCursor cursor) {
+		return engine.suggest(cursor.next(shoppingLists));
+	}
+
+	@Benchmark
+	public List<ScoredItem> contextRecommendTop10(InputCursor cursor) {
+		return context.recommend(cursor.next(shoppingLists), RecommendationStrategyType.BASIC, 10);
+	}
+}
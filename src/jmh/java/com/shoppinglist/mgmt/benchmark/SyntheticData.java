@@ -0,0 +1,110 @@
+package com.shoppinglist.mgmt.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.shoppinglist.mgmt.model.Item;
+import com.shoppinglist.mgmt.repository.ItemRepository;
+import com.shoppinglist.mgmt.suggestionengine.RecommendationRule;
+
+/**
+ * Deterministic generators of catalogs, rule sets and shopping lists for the benchmarks.
+ * The same seed always produces the same data, so runs can be compared.
+ */
+public final class SyntheticData {
+
+	private static final String[] SYLLABLES = { "ba", "ke", "li", "mo", "nu", "ra", "se", "ti", "vo", "zu", "an",
+			"el", "or", "ch", "st", "pa", "gr", "fi", "do", "we" };
+
+	private SyntheticData() {
+	}
+
+	public static String itemCode(int index) {
+		return "itm" + index;
+	}
+
+	/**
+	 * @return active items named with 3 to 5 random syllables, coded itm0..itm(count-1)
+	 */
+	public static List<Item> items(int count, long seed) {
+		Random random = new Random(seed);
+		List<Item> items = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			StringBuilder name = new StringBuilder();
+			int syllables = 3 + random.nextInt(3);
+			for (int s = 0; s < syllables; s++) {
+				name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+			}
+			name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+			items.add(Item.builder()
+					.itemCode(itemCode(i))
+					.itemName(name.toString())
+					.itemPrice(0.5 + random.nextInt(1000) / 100.0)
+					.active(true)
+					.deleted(false)
+					.bought(false)
+					.build());
+		}
+		return items;
+	}
+
+	/**
+	 * @return rules with an antecedent of 1 or 2 items and 3 consequents, drawn from the catalog
+	 */
+	public static List<RecommendationRule> rules(int count, int itemCount, long seed) {
+		Random random = new Random(seed);
+		List<RecommendationRule> rules = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Set<String> antecedent = randomCodes(random, 1 + random.nextInt(2), itemCount);
+			List<String> consequents = new ArrayList<>(randomCodes(random, 3, itemCount));
+			rules.add(new RecommendationRule(antecedent, consequents));
+		}
+		return rules;
+	}
+
+	/**
+	 * @return shopping lists of size items, each containing the antecedents of a few rules so they match
+	 */
+	public static List<List<String>> shoppingLists(int count, int size, int itemCount, List<RecommendationRule> rules,
+			long seed) {
+		Random random = new Random(seed);
+		List<List<String>> lists = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Set<String> codes = new LinkedHashSet<>();
+			for (int r = 0; r < 3 && !rules.isEmpty(); r++) {
+				codes.addAll(rules.get(random.nextInt(rules.size())).antecedent());
+			}
+			while (codes.size() < size) {
+				codes.add(itemCode(random.nextInt(itemCount)));
+			}
+			lists.add(List.copyOf(codes));
+		}
+		return lists;
+	}
+
+	/**
+	 * @return a repository serving the given items as the active catalog, other queries are not supported
+	 */
+	public static ItemRepository itemRepository(List<Item> items) {
+		return (ItemRepository) Proxy.newProxyInstance(ItemRepository.class.getClassLoader(),
+				new Class<?>[] { ItemRepository.class }, (proxy, method, args) -> switch (method.getName()) {
+				case "findAllActive" -> items;
+				case "toString" -> "SyntheticItemRepository";
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == args[0];
+				default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	private static Set<String> randomCodes(Random random, int count, int itemCount) {
+		Set<String> codes = new LinkedHashSet<>();
+		while (codes.size() < Math.min(count, itemCount)) {
+			codes.add(itemCode(random.nextInt(itemCount)));
+		}
+		return codes;
+	}
+}
@@ -0,0 +1,83 @@
+package com.shoppinglist.mgmt.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms (nanoseconds, 3 significant digits) and error counts per {@link Operation}.
+ * A call counts as an error when it fails or answers with a status other than 2xx.
+ */
+final class EndpointStats {
+
+	private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+
+	private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+	EndpointStats() {
+		for (Operation operation : Operation.values()) {
+			latencies.put(operation, new ConcurrentHistogram(3));
+			errors.put(operation, new LongAdder());
+		}
+	}
+
+	void record(Operation operation, long elapsedNanos, int status) {
+		latencies.get(operation).recordValue(elapsedNanos);
+		if (status < 200 || status >= 300) {
+			errors.get(operation).increment();
+		}
+	}
+
+	/**
+	 * Prints one line per endpoint with its throughput and latency percentiles in milliseconds.
+	 */
+	void printSummary(PrintStream out, long measuredNanos) {
+		double seconds = measuredNanos / 1e9;
+		out.printf("%-34s %9s %8s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+				"p99 ms", "p99.9 ms", "max ms");
+		long totalCount = 0;
+		for (Operation operation : Operation.values()) {
+			Histogram histogram = latencies.get(operation);
+			if (histogram.getTotalCount() == 0) {
+				continue;
+			}
+			totalCount += histogram.getTotalCount();
+			out.printf("%-34s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n", operation.endpoint(),
+					histogram.getTotalCount(), errors.get(operation).sum(), histogram.getTotalCount() / seconds,
+					millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+					millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+		}
+		out.printf("%-34s %9d %8s %9.1f%n", "total", totalCount, "", totalCount / seconds);
+	}
+
+	/**
+	 * Writes the full percentile distribution of every endpoint, in milliseconds, as {@code <operation>.hgrm}
+	 * files which can be plotted with the HdrHistogram plotter.
+	 */
+	void writeDistributions(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		for (Operation operation : Operation.values()) {
+			Histogram histogram = latencies.get(operation);
+			if (histogram.getTotalCount() == 0) {
+				continue;
+			}
+			try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(operation.key() + ".hgrm")))) {
+				histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+			}
+		}
+	}
+
+	private static double millis(long nanos) {
+		return nanos / NANOS_PER_MILLI;
+	}
+}
@@ -0,0 +1,161 @@
+package com.shoppinglist.mgmt.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.shoppinglist.mgmt.ShoppingListApplication;
+
+/**
+ * Open-loop HTTP load generator for the shopping list API.
+ * <p>
+ * Calls are scheduled at a fixed arrival rate, spread evenly over the virtual users. Every virtual user
+ * picks its next call from the workload mix and sends it at its scheduled time, or as soon as its previous
+ * call answered when that one was slower. The latency is measured from the scheduled start, so a stall of
+ * the application is counted in every call which should have been sent during it instead of only in the
+ * one call waiting for it (coordinated omission). Every scheduled call is sent: a saturated application
+ * makes the run last longer than the measured duration. Calls scheduled during the warmup are not recorded.
+ * At the end the throughput and the p50/p99/p99.9 latencies of every endpoint are printed, and the full
+ * HdrHistogram distributions are written to the output directory.
+ * </p>
+ * Options (all optional):
+ * <pre>
+ * --base-url=http://localhost:8080   application to load, ignored with --embedded
+ * --embedded                         starts the application (H2) in this JVM on a random port
+ * --profile=prod                     Spring profiles of the embedded application
+ * --app-logging                      keeps the logging of the embedded application, silenced by default
+ * --users=32                         number of virtual users, i.e. of concurrent calls at most
+ * --rate=200                         calls per second of all the virtual users together
+ * --duration=60                      measured seconds
+ * --warmup=15                        warmup seconds
+ * --mix=path/to/mix.properties       workload mix, default-mix.properties by default
+ * --engine=BASIC                     recommendation engine used for the add-on suggestions
+ * --output=target/loadtest           directory of the .hgrm distributions
+ * --seed=42                          seed of the random choices
+ * </pre>
+ */
+public final class LoadTest {
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+		int users = Integer.parseInt(options.getOrDefault("users", "32"));
+		double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+		if (users <= 0 || rate <= 0) {
+			throw new IllegalArgumentException("--users and --rate must be positive");
+		}
+		Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+		Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15")));
+		long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+		WorkloadMix mix = WorkloadMix.load(options.get("mix"));
+
+		ConfigurableApplicationContext application = null;
+		String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+		if (options.containsKey("embedded")) {
+			List<String> applicationArgs = new ArrayList<>(List.of("--server.port=0"));
+			if (options.containsKey("profile")) {
+				applicationArgs.add("--spring.profiles.active=" + options.get("profile"));
+			}
+			if (!options.containsKey("app-logging")) {
+				applicationArgs.addAll(List.of("--spring.jpa.show-sql=false", "--logging.level.root=WARN"));
+			}
+			application = SpringApplication.run(ShoppingListApplication.class, applicationArgs.toArray(String[]::new));
+			baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+		}
+		try {
+			ShoppingListApiClient client = new ShoppingListApiClient(baseUrl, options.getOrDefault("engine", "BASIC"),
+					Duration.ofSeconds(10));
+			client.prepare(new Random(seed));
+
+			System.out.printf("Loading %s at %.1f calls/s with %d users for %ds after %ds of warmup, mix %s%n", baseUrl,
+					rate, users, duration.toSeconds(), warmup.toSeconds(), mix.weights());
+			EndpointStats stats = run(client, mix, users, rate, warmup, duration, seed);
+			stats.printSummary(System.out, duration.toNanos());
+			Path output = Path.of(options.getOrDefault("output", "target/loadtest"));
+			stats.writeDistributions(output);
+			System.out.println("Latency distributions written to " + output.toAbsolutePath());
+		} finally {
+			if (application != null) {
+				application.close();
+			}
+		}
+	}
+
+	private static EndpointStats run(ShoppingListApiClient client, WorkloadMix mix, int users, double rate,
+			Duration warmup, Duration duration, long seed) throws Exception {
+		EndpointStats stats = new EndpointStats();
+		long scheduleFrom = System.nanoTime();
+		long measureFrom = scheduleFrom + warmup.toNanos();
+		long measureUntil = measureFrom + duration.toNanos();
+		// every user sends one call per interval, the users are shifted so that the calls are evenly spread
+		long interval = Math.max(1, Math.round(users * 1e9 / rate));
+		ExecutorService executor = Executors.newFixedThreadPool(users);
+		try {
+			List<Future<?>> virtualUsers = new ArrayList<>(users);
+			for (int user = 0; user < users; user++) {
+				Random random = new Random(seed + user);
+				long firstStart = scheduleFrom + interval * user / users;
+				virtualUsers.add(executor.submit(() -> {
+					for (long intendedStart = firstStart; intendedStart < measureUntil; intendedStart += interval) {
+						Operation operation = mix.next(random);
+						waitUntil(intendedStart);
+						int status;
+						try {
+							status = client.execute(operation, random);
+						} catch (IOException e) {
+							status = -1;
+						}
+						long end = System.nanoTime();
+						if (intendedStart >= measureFrom) {
+							stats.record(operation, end - intendedStart, status);
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> virtualUser : virtualUsers) {
+				virtualUser.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return stats;
+	}
+
+	private static void waitUntil(long nanoTime) {
+		for (long remaining = nanoTime - System.nanoTime(); remaining > 0; remaining = nanoTime - System.nanoTime()) {
+			LockSupport.parkNanos(remaining);
+		}
+	}
+
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--")) {
+				throw new IllegalArgumentException("Unknown argument " + arg);
+			}
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				options.put(arg.substring(2), "true");
+			} else {
+				options.put(arg.substring(2, separator), arg.substring(separator + 1));
+			}
+		}
+		return options;
+	}
+}
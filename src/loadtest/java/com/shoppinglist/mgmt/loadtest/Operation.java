@@ -0,0 +1,37 @@
+package com.shoppinglist.mgmt.loadtest;
+
+import java.util.Locale;
+
+/**
+ * The calls a virtual user can make, one per endpoint of the controllers.
+ */
+enum Operation {
+
+	LOGIN("POST /auth/login"),
+	CREATE_ITEM("POST /items"),
+	GET_ITEMS("GET /items"),
+	GET_ITEM("GET /items/{code}"),
+	CREATE_LIST("POST /shoppinglist"),
+	GET_LIST("GET /shoppinglist/{code}"),
+	UPDATE_LIST("PUT /shoppinglist"),
+	PATCH_LIST("PATCH /shoppinglist"),
+	AUTOCOMPLETE("GET /suggest/items"),
+	ADDONS("GET /suggest/shoppinglist/addons");
+
+	private final String endpoint;
+
+	Operation(String endpoint) {
+		this.endpoint = endpoint;
+	}
+
+	String endpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * @return the name of the operation in a mix file, e.g. create-list
+	 */
+	String key() {
+		return name().toLowerCase(Locale.ROOT).replace('_', '-');
+	}
+}
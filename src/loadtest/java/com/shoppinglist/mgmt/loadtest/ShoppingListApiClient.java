@@ -0,0 +1,218 @@
+package com.shoppinglist.mgmt.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Executes the {@link Operation}s against the API and keeps the codes of the items and shopping lists
+ * seen so far, so that reads and updates target existing data.
+ */
+final class ShoppingListApiClient {
+
+	private static final String API_BASE_PATH = "/api/v1/";
+
+	private final HttpClient httpClient;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final String baseUrl;
+
+	private final String engine;
+
+	private final Duration requestTimeout;
+
+	private final CodeRing itemCodes = new CodeRing(4096);
+
+	private final CodeRing itemNames = new CodeRing(4096);
+
+	private final CodeRing listCodes = new CodeRing(4096);
+
+	private volatile String token;
+
+	ShoppingListApiClient(String baseUrl, String engine, Duration requestTimeout) {
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+		this.engine = engine;
+		this.requestTimeout = requestTimeout;
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(requestTimeout)
+				.build();
+	}
+
+	/**
+	 * Logs in and loads the existing catalog, then creates a few shopping lists to read and update.
+	 */
+	void prepare(Random random) throws IOException, InterruptedException {
+		int status = execute(Operation.LOGIN, random);
+		if (status != 200) {
+			throw new IOException("Login failed with status " + status);
+		}
+		status = execute(Operation.GET_ITEMS, random);
+		if (status != 200 || itemCodes.isEmpty()) {
+			throw new IOException("The catalog could not be loaded, status " + status);
+		}
+		for (int i = 0; i < 16; i++) {
+			execute(Operation.CREATE_LIST, random);
+		}
+		if (listCodes.isEmpty()) {
+			throw new IOException("No shopping list could be created");
+		}
+	}
+
+	/**
+	 * @return the HTTP status of the call
+	 */
+	int execute(Operation operation, Random random) throws IOException, InterruptedException {
+		return switch (operation) {
+		case LOGIN -> {
+			HttpResponse<byte[]> response = send(post("auth/login", Map.of("username", "admin"), false));
+			if (response.statusCode() == 200) {
+				token = objectMapper.readTree(response.body()).path("token").asText();
+			}
+			yield response.statusCode();
+		}
+		case CREATE_ITEM -> {
+			Map<String, Object> item = Map.of("name", "Loadtest item " + random.nextInt(1_000_000), "price", 1.99);
+			HttpResponse<byte[]> response = send(post("items", Map.of("items", List.of(item)), true));
+			rememberItems(response);
+			yield response.statusCode();
+		}
+		case GET_ITEMS -> {
+			HttpResponse<byte[]> response = send(get("items?size=1000"));
+			rememberItems(response);
+			yield response.statusCode();
+		}
+		case GET_ITEM -> send(get("items/" + encode(itemCodes.pick(random)))).statusCode();
+		case CREATE_LIST -> {
+			Map<String, Object> list = Map.of("name", "Loadtest list", "items", randomListItems(random));
+			HttpResponse<byte[]> response = send(post("shoppinglist", list, true));
+			rememberList(response);
+			yield response.statusCode();
+		}
+		case GET_LIST -> send(get("shoppinglist/" + encode(listCodes.pick(random)))).statusCode();
+		case UPDATE_LIST -> {
+			Map<String, Object> update = Map.of("code", listCodes.pick(random), "items", randomListItems(random));
+			yield send(request("shoppinglist", "PUT", update)).statusCode();
+		}
+		case PATCH_LIST -> {
+			List<Map<String, Object>> changes = List.of(
+					Map.of("operation", "ADD", "itemCode", itemCodes.pick(random), "itemQuantity", 1),
+					Map.of("operation", "UPDATE_QUANTITY", "itemCode", itemCodes.pick(random), "itemQuantity", 2));
+			Map<String, Object> patch = Map.of("code", listCodes.pick(random), "changes", changes);
+			yield send(request("shoppinglist", "PATCH", patch)).statusCode();
+		}
+		case AUTOCOMPLETE -> {
+			String name = itemNames.pick(random);
+			String prefix = name.substring(0, Math.min(name.length(), 3 + random.nextInt(3)));
+			yield send(get("suggest/items?limit=10&startsWith=" + encode(prefix))).statusCode();
+		}
+		case ADDONS -> send(get("suggest/shoppinglist/addons?limit=10&engine=" + engine + "&shoplistid="
+				+ encode(listCodes.pick(random)))).statusCode();
+		};
+	}
+
+	private List<Map<String, Object>> randomListItems(Random random) {
+		int size = 2 + random.nextInt(6);
+		List<Map<String, Object>> items = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			items.add(Map.of("itemCode", itemCodes.pick(random), "itemQuantity", 1 + random.nextInt(3)));
+		}
+		return items;
+	}
+
+	private void rememberItems(HttpResponse<byte[]> response) throws IOException {
+		if (response.statusCode() != 200) {
+			return;
+		}
+		for (JsonNode item : objectMapper.readTree(response.body()).path("items")) {
+			itemCodes.add(item.path("itemCode").asText());
+			itemNames.add(item.path("itemName").asText());
+		}
+	}
+
+	private void rememberList(HttpResponse<byte[]> response) throws IOException {
+		if (response.statusCode() == 200) {
+			listCodes.add(objectMapper.readTree(response.body()).path("code").asText());
+		}
+	}
+
+	private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+		return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private HttpRequest get(String path) {
+		return builder(path, true).GET().build();
+	}
+
+	private HttpRequest post(String path, Object body, boolean authenticated) throws IOException {
+		return builder(path, authenticated)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.build();
+	}
+
+	private HttpRequest request(String path, String method, Object body) throws IOException {
+		return builder(path, true)
+				.method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.build();
+	}
+
+	private HttpRequest.Builder builder(String path, boolean authenticated) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + API_BASE_PATH + path))
+				.timeout(requestTimeout)
+				.header("Content-Type", "application/json")
+				.header("Accept", "application/json");
+		if (authenticated) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return builder;
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Bounded, lock-free ring of the most recently seen codes.
+	 */
+	private static final class CodeRing {
+
+		private final AtomicReferenceArray<String> codes;
+
+		private final AtomicLong written = new AtomicLong();
+
+		CodeRing(int capacity) {
+			codes = new AtomicReferenceArray<>(capacity);
+		}
+
+		void add(String code) {
+			if (code != null && !code.isEmpty()) {
+				codes.set((int) (written.getAndIncrement() % codes.length()), code);
+			}
+		}
+
+		boolean isEmpty() {
+			return written.get() == 0;
+		}
+
+		String pick(Random random) {
+			int size = (int) Math.min(written.get(), codes.length());
+			String code = size == 0 ? null : codes.get(random.nextInt(size));
+			return code == null ? "" : code;
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.shoppinglist.mgmt.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Weighted mix of operations, read from a properties file mapping operation keys to relative weights:
+ * <pre>
+ * autocomplete=40
+ * get-list=15
+ * </pre>
+ * Operations which are not listed are not executed.
+ */
+final class WorkloadMix {
+
+	static final String DEFAULT_MIX = "default-mix.properties";
+
+	private final Operation[] operations;
+
+	private final int[] cumulativeWeights;
+
+	private WorkloadMix(Map<Operation, Integer> weights) {
+		operations = weights.keySet().toArray(Operation[]::new);
+		cumulativeWeights = new int[operations.length];
+		int total = 0;
+		for (int i = 0; i < operations.length; i++) {
+			total += weights.get(operations[i]);
+			cumulativeWeights[i] = total;
+		}
+		if (total == 0) {
+			throw new IllegalArgumentException("The workload mix has no operation with a positive weight");
+		}
+	}
+
+	/**
+	 * @param location path of a mix file, or null for the default mix
+	 */
+	static WorkloadMix load(String location) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream in = location == null ? WorkloadMix.class.getResourceAsStream("/" + DEFAULT_MIX)
+				: Files.newInputStream(Path.of(location))) {
+			if (in == null) {
+				throw new IOException("Workload mix not found: " + (location == null ? DEFAULT_MIX : location));
+			}
+			properties.load(in);
+		}
+		Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		for (Operation operation : Operation.values()) {
+			String weight = properties.getProperty(operation.key());
+			if (weight != null && Integer.parseInt(weight.trim()) > 0) {
+				weights.put(operation, Integer.parseInt(weight.trim()));
+			}
+		}
+		return new WorkloadMix(weights);
+	}
+
+	Operation next(Random random) {
+		int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (pick < cumulativeWeights[i]) {
+				return operations[i];
+			}
+		}
+		return operations[operations.length - 1];
+	}
+
+	Map<Operation, Integer> weights() {
+		Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		for (int i = 0; i < operations.length; i++) {
+			weights.put(operations[i], cumulativeWeights[i] - (i == 0 ? 0 : cumulativeWeights[i - 1]));
+		}
+		return weights;
+	}
+}
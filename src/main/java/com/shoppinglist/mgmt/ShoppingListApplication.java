@@ -3,9 +3,11 @@ package com.shoppinglist.mgmt;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EntityScan(basePackages = "com.shoppinglist.mgmt.model")
+@EnableScheduling
 public class ShoppingListApplication {
 
 	public static void main(String[] args) {
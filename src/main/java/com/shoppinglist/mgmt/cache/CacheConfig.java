@@ -0,0 +1,14 @@
+package com.shoppinglist.mgmt.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Spring cache infrastructure. The caches themselves are declared
+ * and sized through the spring.cache.* properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+}
@@ -0,0 +1,101 @@
+package com.shoppinglist.mgmt.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.shoppinglist.mgmt.event.ItemsSavedEvent;
+import com.shoppinglist.mgmt.model.Item;
+import com.shoppinglist.mgmt.repository.ItemRepository;
+
+/**
+ * Read-through cache of the active items of the catalog, keyed by item code.
+ * <p>
+ * Lookups are served from the bounded {@value #CACHE_NAME} cache and only the missing codes are
+ * loaded from the DB, with a single query whatever the number of codes. Unknown or inactive codes
+ * are not cached. Entries are invalidated whenever items are saved.
+ * </p>
+ */
+@Component
+public class ItemCatalogCache {
+
+	public static final String CACHE_NAME = "items";
+
+	private final Cache cache;
+
+	private final ItemRepository itemRepository;
+
+	/**
+	 * @param cacheManager
+	 * @param itemRepository
+	 */
+	public ItemCatalogCache(CacheManager cacheManager, ItemRepository itemRepository) {
+		this.cache = cacheManager.getCache(CACHE_NAME);
+		this.itemRepository = itemRepository;
+	}
+
+	/**
+	 * @param code
+	 * @return the active item for the code
+	 */
+	public Optional<Item> findByCode(String code) {
+		if (code == null) {
+			return Optional.empty();
+		}
+		Item cached = cache.get(code, Item.class);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		Optional<Item> loaded = itemRepository.findByCode(code);
+		loaded.ifPresent(item -> cache.put(code, item));
+		return loaded;
+	}
+
+	/**
+	 * @param codes
+	 * @return the active items found for the codes, keyed by code in the order of the requested codes
+	 */
+	public Map<String, Item> findByCodes(Collection<String> codes) {
+		Set<String> requested = new LinkedHashSet<>(codes);
+		Map<String, Item> found = new LinkedHashMap<>();
+		List<String> misses = new ArrayList<>();
+		for (String code : requested) {
+			Item cached = cache.get(code, Item.class);
+			if (cached != null) {
+				found.put(code, cached);
+			} else {
+				misses.add(code);
+			}
+		}
+		if (misses.isEmpty()) {
+			return found;
+		}
+		for (Item item : itemRepository.findActiveByItemCodeIn(misses)) {
+			cache.put(item.getItemCode(), item);
+			found.put(item.getItemCode(), item);
+		}
+		Map<String, Item> ordered = new LinkedHashMap<>();
+		for (String code : requested) {
+			Item item = found.get(code);
+			if (item != null) {
+				ordered.put(code, item);
+			}
+		}
+		return ordered;
+	}
+
+	@EventListener
+	public void onItemsSaved(ItemsSavedEvent event) {
+		event.items().forEach(item -> cache.evict(item.getItemCode()));
+	}
+}
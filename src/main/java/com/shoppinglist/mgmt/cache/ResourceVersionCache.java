@@ -0,0 +1,102 @@
+package com.shoppinglist.mgmt.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shoppinglist.mgmt.event.ItemsSavedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Last known version of the items and shopping lists, keyed by resource and code, so a conditional GET
+ * whose ETag is still current is answered with 304 without reading the DB.
+ * <p>
+ * Versions are recorded when a resource is read and after a write commits, and a recorded version never
+ * goes down, so a read racing with a write cannot bring back the old version. Entries expire after
+ * {@code etag.version-cache.ttl-ms}: that bounds how long an instance may answer 304 for a resource
+ * changed through another instance.
+ * </p>
+ */
+@Component
+public class ResourceVersionCache {
+
+	public static final String ITEM = "item";
+
+	public static final String SHOPPING_LIST = "shoppinglist";
+
+	private final Cache<String, Long> versions;
+
+	/**
+	 * @param meterRegistry
+	 * @param maximumSize maximum number of versions kept
+	 * @param ttlMillis time after which a version is read again from the DB
+	 */
+	public ResourceVersionCache(MeterRegistry meterRegistry, @Value("${etag.version-cache.size:10000}") long maximumSize,
+			@Value("${etag.version-cache.ttl-ms:10000}") long ttlMillis) {
+		this.versions = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(Duration.ofMillis(ttlMillis))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, versions, "versions");
+	}
+
+	/**
+	 * @param resource
+	 * @param code
+	 * @return the last known version of the resource, empty if it is not cached
+	 */
+	public Optional<Long> find(String resource, String code) {
+		return code == null ? Optional.empty() : Optional.ofNullable(versions.getIfPresent(key(resource, code)));
+	}
+
+	/**
+	 * @param resource
+	 * @param code
+	 * @param version version just read, ignored if a newer one is known
+	 */
+	public void update(String resource, String code, Long version) {
+		if (code != null && version != null) {
+			versions.asMap().merge(key(resource, code), version, Math::max);
+		}
+	}
+
+	/**
+	 * Records the version written by the current transaction once it commits, until then the
+	 * previous version is still the committed one.
+	 *
+	 * @param resource
+	 * @param code
+	 * @param version
+	 */
+	public void updateAfterCommit(String resource, String code, Long version) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			update(resource, code, version);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				update(resource, code, version);
+			}
+		});
+	}
+
+	@EventListener
+	public void onItemsSaved(ItemsSavedEvent event) {
+		event.items().forEach(item -> update(ITEM, item.getItemCode(), item.getVersion()));
+	}
+
+	private static String key(String resource, String code) {
+		return resource + ':' + code;
+	}
+}
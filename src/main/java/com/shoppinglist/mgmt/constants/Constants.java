@@ -3,22 +3,33 @@ package com.shoppinglist.mgmt.constants;
 public class Constants {
 
 	public static final String API_BASE_PATH = "/api/v1/";
+	public static final String TEXT_CSV_VALUE = "text/csv";
 	
 	public static final String INVALID_ITEM_NAME = "Item name cannot be null of empty.";
 	public static final String INVALID_ITEM_PRICE = "Item price cannot be null of empty.";
 	public static final String INVALID_SHOPLIST_NAME = "Shopping list name cannot be null of empty.";
 	public static final String INVALID_SHOPLIST_CODE = "Shopping list code cannot be null of empty.";
 	public static final String INVALID_ITEM_QUANTITY = "Item quantity cannot be null of empty.";
+	public static final String NON_POSITIVE_ITEM_QUANTITY = "Item quantity must be greater than zero.";
+	public static final String ITEM_QUANTITY_OVERFLOW = "Item quantity cannot exceed %d.";
 	public static final String INVALID_ITEM_CODE = "Item code cannot be null of empty.";
+	public static final String INVALID_ITEM_OPERATION = "Item operation cannot be null of empty.";
 	public static final String ITEM_REQUIRED_ERROR = "Atleast one Item is required in the request.";
+	public static final String BULK_ITEM_LIMIT_EXCEEDED = "Too many items in the bulk request.";
+	public static final String MALFORMED_IMPORT = "Malformed import record at line %d, %d items imported before it.";
 	public static final String NO_MATCHING_ITEM_IN_DB = "There is no matching active item in db";
 	public static final String BAD_REQUEST = "Bad Request";
 	public static final String VALIDATION_ERROR = "Validation Error";
 	public static final String INTERNAL_SERVER_ERROR = "Internal Server Error";
+	public static final String CONFLICT = "Conflict";
 	public static final String INVALID_USER = "User is not Authorized.";
 	
 	public static final String NO_ITEM_FOUND_FOR_CODE = "No Item found in system for the code.";
 	public static final String INVALID_PREFIX = "Invalid Prefix passed in request.";
+	public static final String INVALID_LIMIT = "Limit must be greater than zero.";
 	public static final String NO_SHOPLIST_FOUND_FOR_CODE = "No Shopping list found in system for the code.";
+	public static final String SHOPLIST_VERSION_CONFLICT = "Shopping list changed since version %d, current version is %d.";
+	public static final String SHOPLIST_CONCURRENT_UPDATE = "Shopping list is being updated concurrently, retry later.";
+	public static final String UNSUPPORTED_RECOMMENDATION_STRATEGY = "Recommendation strategy is not supported.";
 	
 }
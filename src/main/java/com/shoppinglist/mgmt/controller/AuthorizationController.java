@@ -45,7 +45,7 @@ public class AuthorizationController {
 	      })
     @PostMapping("/login")
     public Map<String, String> login(@RequestBody Map<String, String> request) {
-    	logger.info("Trying to login in the system...");
+    	logger.debug("Trying to login in the system...");
         String username = request.get("username");
 
         if ("admin".equals(username)) {
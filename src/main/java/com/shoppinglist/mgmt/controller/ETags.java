@@ -0,0 +1,39 @@
+package com.shoppinglist.mgmt.controller;
+
+/**
+ * Strong ETags of the resources, built from their version, and the If-None-Match check of conditional reads.
+ */
+final class ETags {
+
+	private ETags() {
+	}
+
+	/**
+	 * @param version
+	 * @return the quoted ETag of the version
+	 */
+	static String of(Long version) {
+		return "\"" + version + "\"";
+	}
+
+	/**
+	 * If-None-Match uses the weak comparison, so W/ prefixed tags match too.
+	 *
+	 * @param ifNoneMatch value of the If-None-Match header
+	 * @param version current version of the resource
+	 * @return true if the client already has this version
+	 */
+	static boolean matches(String ifNoneMatch, Long version) {
+		String etag = of(version);
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals("*") || tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -1,22 +1,41 @@
 package com.shoppinglist.mgmt.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.shoppinglist.mgmt.constants.Constants;
+import com.shoppinglist.mgmt.dto.BulkImportResponse;
+import com.shoppinglist.mgmt.dto.ItemImportFormat;
+import com.shoppinglist.mgmt.dto.ItemPageResponse;
 import com.shoppinglist.mgmt.dto.ItemRequest;
 import com.shoppinglist.mgmt.dto.ItemResponse;
+import com.shoppinglist.mgmt.dto.ItemResponseDto;
+import com.shoppinglist.mgmt.service.ItemBulkImportService;
 import com.shoppinglist.mgmt.service.ItemService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -27,9 +46,10 @@ import jakarta.validation.Valid;
  * 
  * <p>Item Controller is used to manage the Items in the system.<p>
  * - It performs following operations:
- * - Fetches all the items from DB
- * - Fetches active items by item code
+ * - Fetches the items from DB page by page, or streams them all
+ * - Fetches active items by item code, conditionally with the item version as ETag
  * - Creates new items
+ * - Bulk imports items(catalog loads), from JSON or streamed NDJSON/CSV files
  *
  */
 @RestController
@@ -40,31 +60,67 @@ public class ItemController {
 	
 	private ItemService itemService;
 	
+	private ItemBulkImportService itemBulkImportService;
+	
+	private ObjectWriter itemWriter;
+	
 	@Autowired
-	public ItemController(ItemService itemService) {
+	public ItemController(ItemService itemService, ItemBulkImportService itemBulkImportService, ObjectMapper objectMapper) {
 		this.itemService = itemService;
+		this.itemBulkImportService = itemBulkImportService;
+		this.itemWriter = objectMapper.writerFor(ItemResponseDto.class);
 	}
 
-	@Operation(summary = "Returns all the items from the system", description = "")
+	@Operation(summary = "Returns a page of the items from the system", description = "Keyset pagination, pass the nextCursor of a page as the after parameter to get the next one. "
+			+ "Breaking change: the items used to be returned all at once, a client reading only the first response now gets at most size items")
 	@ApiResponses(value = {
-	      @ApiResponse(responseCode = "200", description = "Successfully returns items from the system", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ItemResponse.class))),
-	      @ApiResponse(responseCode = "204", description = "No item is available in the system", content = @Content(mediaType = "application/json")),
-	      @ApiResponse(responseCode = "401", description = "User not authorized", content = @Content(mediaType = "application/json"))})
+	      @ApiResponse(responseCode = "200", description = "Successfully returns a page of items from the system, with empty items and a null nextCursor past the last item", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ItemPageResponse.class))),
+	      @ApiResponse(responseCode = "401", description = "User not authorized", content = @Content(mediaType = "application/json")),
+	      @ApiResponse(responseCode = "500", description = "Page size lower than 1", content = @Content(mediaType = "application/json"))})
 	@GetMapping("items")
-	public ResponseEntity<ItemResponse> getAllItems(){
-		logger.info("Fetching all the items...");
-		return ResponseEntity.ok(itemService.findAll());
+	public ResponseEntity<ItemPageResponse> getAllItems(
+			@Parameter(description = "nextCursor of the previous page, omitted for the first page") @RequestParam(required = false) Long after,
+			@Parameter(description = "Number of items of the page, capped at 1000") @RequestParam(defaultValue = "100") int size){
+		logger.debug("Fetching a page of the items after {}", after);
+		return ResponseEntity.ok(itemService.findPage(after, size));
 	}
 	
-	@Operation(summary = "Return the item by code from the system", description = "")
+	@Operation(summary = "Streams all the items from the system", description = "One item per line(NDJSON), written while the items are read from the DB")
+	@ApiResponses(value = {
+	      @ApiResponse(responseCode = "200", description = "Successfully streams items from the system", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ItemResponseDto.class))),
+	      @ApiResponse(responseCode = "401", description = "User not authorized", content = @Content(mediaType = "application/json"))})
+	@GetMapping(value = "items/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllItems(){
+		logger.debug("Streaming all the items...");
+		StreamingResponseBody body = out -> itemService.streamAll(item -> {
+			try {
+				out.write(itemWriter.writeValueAsBytes(item));
+				out.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+	
+	@Operation(summary = "Return the item by code from the system", description = "The ETag is the version of the item")
 	@ApiResponses(value = {
 	      @ApiResponse(responseCode = "200", description = "Successfully returns item from the system", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ItemResponse.class))),
+	      @ApiResponse(responseCode = "304", description = "The item did not change since the ETag of If-None-Match", content = @Content(mediaType = "application/json")),
 	      @ApiResponse(responseCode = "204", description = "No item is available in the system", content = @Content(mediaType = "application/json")),
 	      @ApiResponse(responseCode = "401", description = "User not authorized", content = @Content(mediaType = "application/json"))})
 	@GetMapping("items/{code}")
-	public ResponseEntity<ItemResponse> findItemByCode(@PathVariable String code){
-		logger.info("Fetching the items by code...");
-		return ResponseEntity.ok(itemService.getItemByCode(code));
+	public ResponseEntity<ItemResponse> findItemByCode(@PathVariable String code,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+		logger.debug("Fetching the item by code {}", code);
+		if(ifNoneMatch != null) {
+			Optional<Long> cachedVersion = itemService.findCachedVersion(code);
+			if(cachedVersion.isPresent() && ETags.matches(ifNoneMatch, cachedVersion.get())) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(cachedVersion.get())).build();
+			}
+		}
+		ItemResponse response = itemService.getItemByCode(code);
+		return ResponseEntity.ok().eTag(ETags.of(response.items().get(0).version())).body(response);
 	}
 	
 	@Operation(summary = "Creates items in the system", description = "Creates one or more items in the system as per provided data")
@@ -76,8 +132,45 @@ public class ItemController {
 	      })
 	@PostMapping("items")
 	public ResponseEntity<ItemResponse> createItem(@Valid @RequestBody ItemRequest request) {
-		 logger.info("Creating the items in system...");
+		 logger.debug("Creating the items in system...");
 		 ItemResponse response = itemService.saveItems(request);
 		 return ResponseEntity.ok(response);
 	}
+	
+	@Operation(summary = "Bulk imports items in the system", description = "Creates thousands of items in chunked, JDBC batched transactions and returns the import throughput")
+	@ApiResponses(value = {
+	      @ApiResponse(responseCode = "200", description = "Successfully imports the items", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkImportResponse.class))),
+	      @ApiResponse(responseCode = "400", description = "Invalid request passed or too many items", content = @Content(mediaType = "application/json")),
+	      @ApiResponse(responseCode = "401", description = "User not authorized", content = @Content(mediaType = "application/json")),
+	      @ApiResponse(responseCode = "500", description = "Error while saving the items", content = @Content(mediaType = "application/json"))
+	      })
+	@PostMapping("items/bulk")
+	public ResponseEntity<BulkImportResponse> importItems(@Valid @RequestBody ItemRequest request) {
+		 logger.info("Bulk importing the items in system...");
+		 return ResponseEntity.ok(itemBulkImportService.importItems(request));
+	}
+	
+	@Operation(summary = "Streams a NDJSON item catalog in the system", description = "Imports one {\"name\":..,\"price\":..} item per line, parsed and written in chunks so any file size fits in memory")
+	@ApiResponses(value = {
+	      @ApiResponse(responseCode = "200", description = "Successfully imports the items, invalid records are reported", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkImportResponse.class))),
+	      @ApiResponse(responseCode = "400", description = "Malformed record, the chunks before it are imported", content = @Content(mediaType = "application/json")),
+	      @ApiResponse(responseCode = "401", description = "User not authorized", content = @Content(mediaType = "application/json"))
+	      })
+	@PostMapping(value = "items/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<BulkImportResponse> importNdjsonItems(InputStream body) throws IOException {
+		 logger.info("Streaming NDJSON items in system...");
+		 return ResponseEntity.ok(itemBulkImportService.importStream(body, ItemImportFormat.NDJSON));
+	}
+	
+	@Operation(summary = "Streams a CSV item catalog in the system", description = "Imports a CSV file with a name,price header line, parsed and written in chunks so any file size fits in memory")
+	@ApiResponses(value = {
+	      @ApiResponse(responseCode = "200", description = "Successfully imports the items, invalid records are reported", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkImportResponse.class))),
+	      @ApiResponse(responseCode = "400", description = "Malformed record, the chunks before it are imported", content = @Content(mediaType = "application/json")),
+	      @ApiResponse(responseCode = "401", description = "User not authorized", content = @Content(mediaType = "application/json"))
+	      })
+	@PostMapping(value = "items/import", consumes = Constants.TEXT_CSV_VALUE)
+	public ResponseEntity<BulkImportResponse> importCsvItems(InputStream body) throws IOException {
+		 logger.info("Streaming CSV items in system...");
+		 return ResponseEntity.ok(itemBulkImportService.importStream(body, ItemImportFormat.CSV));
+	}
 }
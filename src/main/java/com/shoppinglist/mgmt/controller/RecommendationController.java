@@ -48,7 +48,7 @@ public class RecommendationController {
 	public ResponseEntity<ItemResponse> suggestItemsStartsWith(@RequestParam("startsWith") String prefix,
 			@RequestParam(value =  "limit", defaultValue = "10") int limit){
 		
-		logger.info("Getting items suggestion that starts with {}", prefix);
+		logger.debug("Getting items suggestion that starts with {}", prefix);
 		ItemResponse response = recommendationService.findItemsStartingWith(prefix,limit);
 		if(!response.items().isEmpty()) {
 			return ResponseEntity.ok(response);
@@ -67,8 +67,8 @@ public class RecommendationController {
 			@RequestParam(value = "engine", defaultValue = "BASIC") RecommendationStrategyType strategy,
 			@RequestParam(value =  "limit", defaultValue = "10") int limit){
 		
-		logger.info("Getting additional items suggestion for the shopping list");
-		ItemResponse response = recommendationService.findSuggestionsForShoppingList(shoplistid,strategy);
+		logger.debug("Getting additional items suggestion for the shopping list {}", shoplistid);
+		ItemResponse response = recommendationService.findSuggestionsForShoppingList(shoplistid,strategy,limit);
 		if(!response.items().isEmpty()) {
 			return ResponseEntity.ok(response);
 		}else {
@@ -1,17 +1,24 @@
 package com.shoppinglist.mgmt.controller;
 
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.shoppinglist.mgmt.constants.Constants;
+import com.shoppinglist.mgmt.dto.ShoppingListPatchRequestDto;
 import com.shoppinglist.mgmt.dto.ShoppingListRequestDto;
 import com.shoppinglist.mgmt.dto.ShoppingListResponseDto;
 import com.shoppinglist.mgmt.dto.ShoppingListUpdateRequestDto;
@@ -27,9 +34,10 @@ import jakarta.validation.Valid;
 /**
  *  <p>This Controller is responsible for managing the shopping list in the system.</p>
  *  - It performs following operations:
- *  - Fetches active shopping list by item code
+ *  - Fetches active shopping list by item code, conditionally with its version as ETag
  *  - Creates new shopping list
  *  - Updates existing shopping list with new items
+ *  - Partially updates existing shopping list (add, remove or change quantity of items)
  */
 @RestController
 @RequestMapping(Constants.API_BASE_PATH)
@@ -53,21 +61,30 @@ public class ShoppingController {
 	      })
 	@PostMapping("shoppinglist")
 	public ResponseEntity<ShoppingListResponseDto> createShoppingList(@Valid @RequestBody ShoppingListRequestDto request){
-		logger.info("Creating a shopping list...");
+		logger.debug("Creating a shopping list...");
 		return ResponseEntity.ok(shoppingListService.createShoppingList(request));
 		
 	}
 	
-	@Operation(summary = "Fetch a shopping list from the system", description = "Gets a shopping list with items from the system as per provided code")
+	@Operation(summary = "Fetch a shopping list from the system", description = "Gets a shopping list with items from the system as per provided code, the ETag is the version of the list")
 	@ApiResponses(value = {
 	      @ApiResponse(responseCode = "200", description = "Successfully fetches shopping list from the system", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ShoppingListResponseDto.class))),
+	      @ApiResponse(responseCode = "304", description = "The shopping list did not change since the ETag of If-None-Match", content = @Content(mediaType = "application/json")),
 	      @ApiResponse(responseCode = "204", description = "No item is available in the system", content = @Content(mediaType = "application/json")),
 	      @ApiResponse(responseCode = "401", description = "User not authorized", content = @Content(mediaType = "application/json"))
 	      })
 	@GetMapping("shoppinglist/{code}")
-	public ResponseEntity<ShoppingListResponseDto> getShoppingList(@PathVariable String code){
-		logger.info("Fetch a shopping list...");
-		return ResponseEntity.ok(shoppingListService.findByCode(code));
+	public ResponseEntity<ShoppingListResponseDto> getShoppingList(@PathVariable String code,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+		logger.debug("Fetch a shopping list {}", code);
+		if(ifNoneMatch != null) {
+			Optional<Long> cachedVersion = shoppingListService.findCachedVersion(code);
+			if(cachedVersion.isPresent() && ETags.matches(ifNoneMatch, cachedVersion.get())) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(cachedVersion.get())).build();
+			}
+		}
+		ShoppingListResponseDto response = shoppingListService.findByCode(code);
+		return ResponseEntity.ok().eTag(ETags.of(response.version())).body(response);
 		
 	}
 	
@@ -76,12 +93,28 @@ public class ShoppingController {
 	      @ApiResponse(responseCode = "200", description = "Successfully updates shopping list in the system", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ShoppingListResponseDto.class))),
 	      @ApiResponse(responseCode = "400", description = "Invalid request passed", content = @Content(mediaType = "application/json")),
 	      @ApiResponse(responseCode = "401", description = "User not authorized", content = @Content(mediaType = "application/json")),
+	      @ApiResponse(responseCode = "409", description = "The shopping list changed since the expected version of the request", content = @Content(mediaType = "application/json")),
 	      @ApiResponse(responseCode = "500", description = "Error while updating the shoppinglist", content = @Content(mediaType = "application/json"))
 	      })
 	@PutMapping("shoppinglist")
 	public ResponseEntity<ShoppingListResponseDto> updateShoppingList(@Valid @RequestBody ShoppingListUpdateRequestDto request){
-		logger.info("Updating a shopping list...");
+		logger.debug("Updating a shopping list...");
 		return ResponseEntity.ok(shoppingListService.updateShoppingList(request));
 		
 	}
+	
+	@Operation(summary = "Partially updates a shopping list in the system", description = "Adds, removes or changes the quantity of individual items of a shopping list")
+	@ApiResponses(value = {
+	      @ApiResponse(responseCode = "200", description = "Successfully updates shopping list in the system", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ShoppingListResponseDto.class))),
+	      @ApiResponse(responseCode = "400", description = "Invalid request passed", content = @Content(mediaType = "application/json")),
+	      @ApiResponse(responseCode = "401", description = "User not authorized", content = @Content(mediaType = "application/json")),
+	      @ApiResponse(responseCode = "409", description = "The shopping list changed since the expected version of the request", content = @Content(mediaType = "application/json")),
+	      @ApiResponse(responseCode = "500", description = "Error while updating the shoppinglist", content = @Content(mediaType = "application/json"))
+	      })
+	@PatchMapping("shoppinglist")
+	public ResponseEntity<ShoppingListResponseDto> patchShoppingList(@Valid @RequestBody ShoppingListPatchRequestDto request){
+		logger.debug("Patching a shopping list...");
+		return ResponseEntity.ok(shoppingListService.patchShoppingList(request));
+		
+	}
 }
@@ -0,0 +1,22 @@
+package com.shoppinglist.mgmt.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Summary of a bulk item import")
+public record BulkImportResponse(
+		@Schema(description = "Number of items created")
+		long imported,
+		@Schema(description = "Number of records skipped because they are invalid")
+		long rejected,
+		@Schema(description = "Number of chunks(transactions) used to write the items")
+		int chunks,
+		@Schema(description = "Time spent importing the items, in milliseconds")
+		long durationMillis,
+		@Schema(description = "Throughput of the import")
+		double itemsPerSecond,
+		@Schema(description = "Reasons of the first rejected records")
+		List<String> errors
+		) {
+}
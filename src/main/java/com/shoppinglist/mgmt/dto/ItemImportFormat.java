@@ -0,0 +1,13 @@
+package com.shoppinglist.mgmt.dto;
+
+/**
+ * Formats accepted by the streaming item import, one item per record.
+ */
+public enum ItemImportFormat {
+
+	/** One {"name":"Milk","price":1.09} JSON object per line. */
+	NDJSON,
+
+	/** A name,price header line followed by one item per line. */
+	CSV
+}
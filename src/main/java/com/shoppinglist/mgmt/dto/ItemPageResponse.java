@@ -0,0 +1,13 @@
+package com.shoppinglist.mgmt.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One page of the items, ordered by creation")
+public record ItemPageResponse(
+		List<ItemResponseDto> items,
+		@Schema(description = "Value of the after parameter to fetch the next page, null on the last page")
+		Long nextCursor
+		) {
+}
@@ -14,7 +14,9 @@ public record ItemResponseDto(
 		@Schema(description = "Saved item status", defaultValue = "true")
 		boolean active,
 		@Schema(description = "Saved item status(bought)", defaultValue = "false")
-		boolean bought
+		boolean bought,
+		@Schema(description = "Version of the item, incremented by every change")
+		Long version
 		) {
 	
 	public static class Builder{
@@ -24,6 +26,7 @@ public record ItemResponseDto(
 		boolean deleted;
 		boolean active;
 		boolean bought;
+		Long version;
 		
 		public Builder itemName(String name) {
 			this.itemName = name;
@@ -50,8 +53,13 @@ public record ItemResponseDto(
 			return this;
 		}
 		
+		public Builder version(Long version) {
+			this.version = version;
+			return this;
+		}
+		
 		public ItemResponseDto build() {
-			return new ItemResponseDto(itemName, itemPrice, itemCode, deleted, active,bought);
+			return new ItemResponseDto(itemName, itemPrice, itemCode, deleted, active,bought, version);
 		}
 	}
 }
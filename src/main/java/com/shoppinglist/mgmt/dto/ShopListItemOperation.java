@@ -0,0 +1,12 @@
+package com.shoppinglist.mgmt.dto;
+
+/**
+ * Operations supported by a partial shopping list update.
+ * - ADD: adds the item to the list, or increases its quantity if it is already in the list
+ * - REMOVE: removes the item from the list
+ * - UPDATE_QUANTITY: sets the quantity of an item already in the list
+ */
+public enum ShopListItemOperation {
+
+	ADD, REMOVE, UPDATE_QUANTITY
+}
@@ -0,0 +1,22 @@
+package com.shoppinglist.mgmt.dto;
+
+import com.shoppinglist.mgmt.constants.Constants;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record ShopListItemPatchDto(
+		@NotNull(message = Constants.INVALID_ITEM_OPERATION) 
+		@Schema(description = "Operation to apply on the item")
+		ShopListItemOperation operation,
+		@NotBlank(message = Constants.INVALID_ITEM_CODE) 
+		@Schema(description = "Item code")
+		String itemCode,
+		@Positive(message = Constants.NON_POSITIVE_ITEM_QUANTITY) 
+		@Schema(description = "Item quantity, required for ADD and UPDATE_QUANTITY")
+		Integer itemQuantity
+		) {
+
+}
@@ -0,0 +1,27 @@
+package com.shoppinglist.mgmt.dto;
+
+import java.util.List;
+
+import com.shoppinglist.mgmt.constants.Constants;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+public record ShoppingListPatchRequestDto(
+		@NotBlank(message = Constants.INVALID_SHOPLIST_CODE) 
+		@Schema(description = "Shopping list code")
+		String code,
+		@Valid
+		@NotEmpty(message = Constants.ITEM_REQUIRED_ERROR)
+		@Schema(description = "Item changes to apply on the shopping list")
+		List<ShopListItemPatchDto> changes,
+		@Schema(description = "Version of the shopping list the changes are based on, the changes are merged if none of their items changed since, otherwise rejected with 409")
+		Long expectedVersion
+		) {
+	
+	public ShoppingListPatchRequestDto(String code, List<ShopListItemPatchDto> changes) {
+		this(code, changes, null);
+	}
+}
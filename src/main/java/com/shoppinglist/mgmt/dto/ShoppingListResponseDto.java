@@ -12,7 +12,9 @@ public record ShoppingListResponseDto(
 		@Schema(description = "Shopping list status")
 		boolean deleted,
 		@Schema(description = "Items in the shopping list")
-		List<ShopListItemDto> items
+		List<ShopListItemDto> items,
+		@Schema(description = "Version of the shopping list, incremented by every change")
+		Long version
 		) {
 
 	public static class Builder{
@@ -20,6 +22,7 @@ public record ShoppingListResponseDto(
 		String code;
 		boolean deleted;
 		List<ShopListItemDto> items;
+		Long version;
 		
 		public Builder name(String name) {
 			this.name = name;
@@ -38,8 +41,13 @@ public record ShoppingListResponseDto(
 			return this;
 		}
 		
+		public Builder version(Long version) {
+			this.version = version;
+			return this;
+		}
+		
 		public ShoppingListResponseDto build() {
-			return new ShoppingListResponseDto(name, code, deleted, items);
+			return new ShoppingListResponseDto(name, code, deleted, items, version);
 		}
 	}
 }
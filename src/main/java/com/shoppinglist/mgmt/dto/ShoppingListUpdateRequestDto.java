@@ -14,7 +14,12 @@ public record ShoppingListUpdateRequestDto(
 		String code,
 		@Valid
 		@Schema(description = "Items for the shopping list")
-		List<ShopListItemDto> items	
+		List<ShopListItemDto> items,
+		@Schema(description = "Version of the shopping list the items are based on, the update is rejected with 409 if the list changed since")
+		Long expectedVersion
 		) {
 	
+	public ShoppingListUpdateRequestDto(String code, List<ShopListItemDto> items) {
+		this(code, items, null);
+	}
 }
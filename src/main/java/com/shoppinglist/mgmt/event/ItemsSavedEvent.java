@@ -0,0 +1,14 @@
+package com.shoppinglist.mgmt.event;
+
+import java.util.List;
+
+import com.shoppinglist.mgmt.model.Item;
+
+/**
+ * Published once items have been written to the DB, so that the in-memory views
+ * of the item catalog (cache, prefix index) can be refreshed.
+ *
+ * @param items The saved items.
+ */
+public record ItemsSavedEvent(List<Item> items) {
+}
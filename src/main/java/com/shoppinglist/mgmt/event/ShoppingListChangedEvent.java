@@ -0,0 +1,13 @@
+package com.shoppinglist.mgmt.event;
+
+import java.util.Set;
+
+/**
+ * Published when the items of a shopping list have been created or changed, so that the
+ * in-memory recommendation models can be updated incrementally.
+ *
+ * @param previousItemCodes The item codes of the list before the change, empty for a new list.
+ * @param currentItemCodes The item codes of the list after the change.
+ */
+public record ShoppingListChangedEvent(Set<String> previousItemCodes, Set<String> currentItemCodes) {
+}
@@ -0,0 +1,14 @@
+package com.shoppinglist.mgmt.exception;
+
+/**
+ * ConflictException for returning 409 Conflict.
+ * <p>
+ * This class is thrown when a change is based on a version of the resource which is no longer
+ * the current one and cannot be merged with the changes made since.
+ * </p>
+ */
+public class ConflictException extends RuntimeException {
+  public ConflictException(String message) {
+    super(message);
+  }
+}
@@ -78,6 +78,23 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
   }
 
+  /**
+   * Handles `ConflictException` and returns a conflict response, so the client can read the resource
+   * again and resend its change.
+   *
+   * @param ex      The thrown `ConflictException`.
+   * @param request The HTTP request that caused the exception.
+   * @return A `ResponseEntity` containing the `ApiErrorResponse` with error details.
+   */
+  @ExceptionHandler(ConflictException.class)
+  public ResponseEntity<ApiErrorResponse> handleConflictException(
+      ConflictException ex, HttpServletRequest request) {
+    logger.warn("Conflict occurred: {}", ex.getMessage());
+    ApiErrorResponse errorResponse = new ApiErrorResponse(HttpStatus.CONFLICT.value(),
+    		Constants.CONFLICT, List.of(ex.getMessage()), request.getRequestURI());
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+  }
+
   /**
    * Handles generic exceptions and returns an internal server error response.
    *
@@ -0,0 +1,42 @@
+package com.shoppinglist.mgmt.metrics;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records the number of SQL statements issued while serving a request as the
+ * {@code http.server.requests.queries} distribution summary, tagged by HTTP method and URI template.
+ */
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+	public static final String METRIC_NAME = "http.server.requests.queries";
+
+	private final MeterRegistry meterRegistry;
+
+	public QueryCountInterceptor(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		QueryCounter.reset();
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		DistributionSummary.builder(METRIC_NAME)
+				.description("SQL statements issued per request")
+				.baseUnit("queries")
+				.tag("method", request.getMethod())
+				.tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+				.register(meterRegistry)
+				.record(QueryCounter.current());
+	}
+}
@@ -0,0 +1,31 @@
+package com.shoppinglist.mgmt.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector counting the SQL statements prepared by the current thread.
+ * <p>
+ * The counter is reset at the beginning of every web request by {@link QueryCountInterceptor},
+ * which records the final count once the request completes.
+ * </p>
+ */
+public class QueryCounter implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+	@Override
+	public String inspect(String sql) {
+		COUNT.get()[0]++;
+		return sql;
+	}
+
+	public static void reset() {
+		COUNT.get()[0] = 0;
+	}
+
+	public static long current() {
+		return COUNT.get()[0];
+	}
+}
@@ -0,0 +1,32 @@
+package com.shoppinglist.mgmt.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wires the per-request SQL statement counter into Hibernate and Spring MVC.
+ */
+@Configuration
+public class QueryMetricsConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer queryCounterCustomizer() {
+		return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+	}
+
+	@Bean
+	public WebMvcConfigurer queryCountWebMvcConfigurer(MeterRegistry meterRegistry) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(new QueryCountInterceptor(meterRegistry));
+			}
+		};
+	}
+}
@@ -0,0 +1,103 @@
+package com.shoppinglist.mgmt.metrics;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Exports the virtual thread JFR events as meters, when requests run on virtual threads
+ * ({@code spring.threads.virtual.enabled=true}) on a JDK 21+ runtime, the events do not exist before:
+ * - {@code jvm.threads.virtual.started}: virtual threads started, only with
+ *   {@code metrics.virtual-threads.started-events=true} as it records an event for every thread
+ * - {@code jvm.threads.virtual.pinned}: virtual threads which blocked while pinned to their carrier thread
+ *   (e.g. inside a synchronized block) for longer than {@code metrics.virtual-threads.pinned-threshold-ms}
+ * - {@code jvm.threads.virtual.submit.failed}: virtual threads which could not be scheduled on a carrier
+ * 
+ * Comparing pinned to started threads shows how much of the load still holds carrier threads.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@ConditionalOnJava(JavaVersion.TWENTY_ONE)
+public class VirtualThreadMetrics {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadMetrics.class);
+
+	private static final String STARTED_EVENT = "jdk.VirtualThreadStart";
+
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+	private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+
+	private final Duration pinnedThreshold;
+
+	private final boolean startedEvents;
+
+	private final Counter started;
+
+	private final Timer pinned;
+
+	private final Counter submitFailed;
+
+	private RecordingStream recordingStream;
+
+	/**
+	 * @param meterRegistry
+	 * @param pinnedThresholdMillis
+	 * @param startedEvents whether to count the started virtual threads
+	 */
+	public VirtualThreadMetrics(MeterRegistry meterRegistry,
+			@Value("${metrics.virtual-threads.pinned-threshold-ms:20}") long pinnedThresholdMillis,
+			@Value("${metrics.virtual-threads.started-events:false}") boolean startedEvents) {
+		this.pinnedThreshold = Duration.ofMillis(pinnedThresholdMillis);
+		this.startedEvents = startedEvents;
+		this.started = startedEvents ? Counter.builder("jvm.threads.virtual.started")
+				.description("Virtual threads started")
+				.register(meterRegistry) : null;
+		this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+				.description("Time virtual threads blocked while pinned to their carrier thread")
+				.register(meterRegistry);
+		this.submitFailed = Counter.builder("jvm.threads.virtual.submit.failed")
+				.description("Virtual threads which could not be scheduled on a carrier thread")
+				.register(meterRegistry);
+	}
+
+	@PostConstruct
+	public void start() {
+		recordingStream = new RecordingStream();
+		if (startedEvents) {
+			recordingStream.enable(STARTED_EVENT);
+			recordingStream.onEvent(STARTED_EVENT, event -> started.increment());
+		}
+		recordingStream.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+		recordingStream.enable(SUBMIT_FAILED_EVENT);
+		recordingStream.onEvent(PINNED_EVENT, event -> {
+			pinned.record(event.getDuration());
+			if (logger.isDebugEnabled()) {
+				logger.debug("Virtual thread pinned for {} ms: {}", event.getDuration().toMillis(), event.getStackTrace());
+			}
+		});
+		recordingStream.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailed.increment());
+		recordingStream.startAsync();
+		logger.info("Recording virtual thread events, pinning reported above {} ms", pinnedThreshold.toMillis());
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (recordingStream != null) {
+			recordingStream.close();
+		}
+	}
+}
@@ -1,30 +1,54 @@
 package com.shoppinglist.mgmt.model;
 
+import java.util.Locale;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Every query filters on active and not deleted items, so the name index leads with those flags and ends
+ * with the lower-case name, letting a {@code LIKE 'prefix%'} search run as an index range scan.
+ */
 @Entity
+@Table(indexes = @Index(name = "idx_item_active_name", columnList = "active, deleted, item_name_lower"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Item {
 
+	/**
+	 * Sequence ids let Hibernate batch the inserts, the pooled optimizer reserves 50 ids per sequence call.
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+	@SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
 	private Long itemId;
 	
 	@NotNull
 	private String itemName;
 	
+	/**
+	 * Trimmed, lower-case copy of the name kept in sync on every write, so case-insensitive searches
+	 * compare a plain column instead of LOWER(item_name), which no index can serve.
+	 */
+	@Column(name = "item_name_lower")
+	private String itemNameLower;
+	
 	@NotNull
 	private Double itemPrice;
 	
@@ -36,4 +60,24 @@ public class Item {
 	private boolean active;
 	
 	private boolean bought;
+	
+	/**
+	 * Incremented by every update, it is the strong ETag of the item.
+	 */
+	@Version
+	private Long version;
+	
+	@PrePersist
+	@PreUpdate
+	void normalizeItemName() {
+		itemNameLower = normalizeName(itemName);
+	}
+	
+	/**
+	 * @param name
+	 * @return the form of the name stored in itemNameLower
+	 */
+	public static String normalizeName(String name) {
+		return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+	}
 }
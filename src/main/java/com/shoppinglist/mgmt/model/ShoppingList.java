@@ -1,21 +1,37 @@
 package com.shoppinglist.mgmt.model;
 
+import java.time.Instant;
+import java.util.Map;
 import java.util.Set;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapKeyColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Lists are read by code and scanned by id for mining, both only when not deleted: the indexes below
+ * answer those lookups without touching the table rows for the filter.
+ */
 @Entity
+@Table(indexes = {
+		@Index(name = "idx_shopping_list_code_deleted", columnList = "code, deleted"),
+		@Index(name = "idx_shopping_list_deleted_id", columnList = "deleted, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,11 +47,34 @@ public class ShoppingList {
 	@Column(unique = true)
 	private String code;
 	
-	@OneToMany(cascade = CascadeType.ALL)
+	@OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
 	@JoinColumn(name = "shopping_list_id")
 	private Set<ShoppingListItem> items;
 	
+	/**
+	 * Codes of the items removed from the list, with the version of the list which removed them, so a
+	 * change based on an older version is not applied to an item removed since. Dropped when the item is
+	 * added again.
+	 */
+	@ElementCollection
+	@CollectionTable(name = "shopping_list_removed_item", joinColumns = @JoinColumn(name = "shopping_list_id"))
+	@MapKeyColumn(name = "item_code")
+	@Column(name = "removed_in_version")
+	private Map<String, Long> removedItems;
+	
 	@Column(columnDefinition = "boolean default false")
 	private boolean deleted;
 	
+	/**
+	 * Set whenever the items of the list change. A quantity change only writes the item row, setting
+	 * this makes the list row dirty too, so its version is incremented on every change of the list.
+	 */
+	private Instant updatedAt;
+	
+	/**
+	 * Incremented by every update of the list or of its items, it is the strong ETag of the list.
+	 */
+	@Version
+	private Long version;
+	
 }
@@ -7,6 +7,7 @@ import jakarta.persistence.Id;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
@@ -14,6 +15,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class ShoppingListItem {
 
 	
@@ -21,9 +23,19 @@ public class ShoppingListItem {
 	@GeneratedValue(strategy = GenerationType.AUTO)
 	private Long id;
 	
+	/**
+	 * A shopping list holds at most one line per item, so the item code identifies the line
+	 * within its list and its quantity can be changed in place.
+	 */
+	@EqualsAndHashCode.Include
 	private String itemCode;
 	
 	private int itemQuantity;
 	
+	/**
+	 * Version of the list written when the line was added or its quantity last changed, used to tell
+	 * whether a concurrent change touched the same line.
+	 */
+	private Long changedInVersion;
 	
 }
@@ -1,24 +1,58 @@
 package com.shoppinglist.mgmt.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.shoppinglist.mgmt.dto.ItemResponseDto;
 import com.shoppinglist.mgmt.model.Item;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
 	@Query("SELECT s FROM Item s WHERE s.itemCode = :code AND s.deleted = false AND s.active = true")
 	Optional<Item> findByCode(@Param("code") String code);
 	
-	@Query("SELECT s FROM Item s WHERE LOWER(s.itemName) LIKE (CONCAT(:prefix,'%')) AND s.deleted = false AND s.active = true")
+	/**
+	 * The prefix must be normalized with {@link Item#normalizeName(String)} and have its LIKE wildcards escaped with a backslash,
+	 * the predicates match the columns of idx_item_active_name.
+	 */
+	@Query("SELECT s FROM Item s WHERE s.active = true AND s.deleted = false AND s.itemNameLower LIKE CONCAT(:prefix, '%') ESCAPE '\\'"
+			+ " ORDER BY s.itemNameLower")
 	List<Item> findItemsByNameStartingWith(@Param("prefix") String prefix, Pageable page);
 	
 	List<Item> findByItemCodeIn(List<String> itemCodes);
+	
+	@Query("SELECT s FROM Item s WHERE s.deleted = false AND s.active = true")
+	List<Item> findAllActive();
+	
+	@Query("SELECT s FROM Item s WHERE s.itemCode IN :codes AND s.deleted = false AND s.active = true")
+	List<Item> findActiveByItemCodeIn(@Param("codes") Collection<String> codes);
+	
+	/**
+	 * Keyset page: the items created after the given id, the primary key index makes every page as cheap as the first.
+	 */
+	@Query("SELECT s FROM Item s WHERE s.itemId > :afterId ORDER BY s.itemId")
+	List<Item> findPageAfter(@Param("afterId") Long afterId, Pageable page);
+	
+	/**
+	 * All the items as DTOs read through a JDBC cursor, must be consumed and closed within a transaction.
+	 * DTOs are not managed, so the persistence context does not grow with the catalog.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT new com.shoppinglist.mgmt.dto.ItemResponseDto(s.itemName, s.itemPrice, s.itemCode, s.deleted, s.active, s.bought, s.version)"
+			+ " FROM Item s ORDER BY s.itemId")
+	Stream<ItemResponseDto> streamAllAsDto();
 }
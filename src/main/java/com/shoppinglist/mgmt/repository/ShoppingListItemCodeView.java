@@ -0,0 +1,11 @@
+package com.shoppinglist.mgmt.repository;
+
+/**
+ * Read-only projection of one item of a shopping list, used to scan stored lists without loading entities.
+ */
+public interface ShoppingListItemCodeView {
+
+	Long getListId();
+
+	String getItemCode();
+}
@@ -0,0 +1,9 @@
+package com.shoppinglist.mgmt.repository;
+
+/**
+ * One row of a shopping list joined with one of its items, read as a DTO so no entity is managed.
+ * A list without items is returned as a single row with a null item code and quantity.
+ */
+public record ShoppingListItemRow(String name, String code, boolean deleted, Long version, String itemCode,
+		Integer itemQuantity) {
+}
@@ -1,7 +1,11 @@
 package com.shoppinglist.mgmt.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,4 +18,23 @@ public interface ShoppingListRepository extends JpaRepository<ShoppingList, Long
 
 	@Query("SELECT s FROM ShoppingList s WHERE s.code = :code AND s.deleted = false")
 	Optional<ShoppingList> findByCode(@Param("code") String code);
+
+	/**
+	 * Read path of a list: the list and its items in one query, without loading entities.
+	 */
+	@Query("SELECT new com.shoppinglist.mgmt.repository.ShoppingListItemRow(s.name, s.code, s.deleted, s.version, i.itemCode, i.itemQuantity)"
+			+ " FROM ShoppingList s LEFT JOIN s.items i WHERE s.code = :code AND s.deleted = false")
+	List<ShoppingListItemRow> findRowsByCode(@Param("code") String code);
+
+	@Query("SELECT s.id FROM ShoppingList s WHERE s.id > :afterId AND s.deleted = false ORDER BY s.id")
+	List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+	/**
+	 * Whether a list up to maxId, deleted or not, changed after the given instant.
+	 */
+	@Query("SELECT COUNT(s) > 0 FROM ShoppingList s WHERE s.id <= :maxId AND s.updatedAt > :since")
+	boolean existsUpdatedSince(@Param("maxId") Long maxId, @Param("since") Instant since);
+
+	@Query("SELECT s.id AS listId, i.itemCode AS itemCode FROM ShoppingList s JOIN s.items i WHERE s.id IN :ids")
+	List<ShoppingListItemCodeView> findItemCodesByListIds(@Param("ids") Collection<Long> ids);
 }
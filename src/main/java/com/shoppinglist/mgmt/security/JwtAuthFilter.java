@@ -31,12 +31,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 		String header = request.getHeader(HttpHeaders.AUTHORIZATION);
 		if (header != null && header.startsWith("Bearer ")) {
 			String token = header.substring(7);
-			if (jwtUtil.isValid(token)) {
-				String username = jwtUtil.extractUsername(token);
-				var auth = new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList());
+			jwtUtil.verify(token).ifPresent(claims -> {
+				var auth = new UsernamePasswordAuthenticationToken(claims.getSubject(), null, Collections.emptyList());
 				auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 				SecurityContextHolder.getContext().setAuthentication(auth);
-			}
+			});
 		}
 
 		filterChain.doFilter(request, response);
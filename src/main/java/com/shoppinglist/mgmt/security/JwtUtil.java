@@ -1,20 +1,73 @@
 package com.shoppinglist.mgmt.security;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+/**
+ * Issues and verifies the JWT tokens of the API.
+ * 
+ * The parser is built once and shared, it is immutable and thread safe. Verified tokens are kept in a
+ * bounded cache keyed by the SHA-256 hash of the token until their expiration, so a client reusing its
+ * token only pays the signature verification once.
+ *
+ * Verifications are timed by {@code security.jwt.verification}, tagged by result: cached, verified or rejected.
+ */
 @Component
 public class JwtUtil {
 
 	private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    private final long expirationMillis = 86400000; // 1 day
+
+	private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    private final long expirationMillis;
+
+    private final Cache<String, Claims> verifiedTokens;
+
+    private final Timer cachedTimer;
+
+    private final Timer verifiedTimer;
+
+    private final Timer rejectedTimer;
+
+    /**
+     * @param meterRegistry
+     * @param expirationMillis validity of the issued tokens
+     * @param verifiedCacheSize maximum number of verified tokens kept
+     */
+    public JwtUtil(MeterRegistry meterRegistry, @Value("${security.jwt.expiration-ms:86400000}") long expirationMillis,
+            @Value("${security.jwt.verified-cache-size:10000}") long verifiedCacheSize) {
+        this.expirationMillis = expirationMillis;
+        this.cachedTimer = verificationTimer(meterRegistry, "cached");
+        this.verifiedTimer = verificationTimer(meterRegistry, "verified");
+        this.rejectedTimer = verificationTimer(meterRegistry, "rejected");
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.creating((String tokenHash, Claims claims) -> timeToExpiration(claims)))
+                .build();
+    }
 
     public String generateToken(String username) {
         return Jwts.builder()
@@ -25,17 +78,56 @@ public class JwtUtil {
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+    /**
+     * Verifies the signature and expiration of the token, once per token while it is cached.
+     * 
+     * @param token
+     * @return the claims of the token, empty if it is not valid
+     */
+    public Optional<Claims> verify(String token) {
+        long start = System.nanoTime();
+        Timer timer = rejectedTimer;
+        try {
+            if (token == null || token.isBlank()) {
+                return Optional.empty();
+            }
+            String tokenHash = hash(token);
+            Claims cached = verifiedTokens.getIfPresent(tokenHash);
+            if (cached != null) {
+                timer = cachedTimer;
+                return Optional.of(cached);
+            }
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, claims);
+            }
+            timer = verifiedTimer;
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("security.jwt.verification")
+                .description("Verification of the bearer token of a request")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Duration timeToExpiration(Claims claims) {
+        return Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()));
     }
 
-    public boolean isValid(String token) {
+    private static String hash(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 }
@@ -0,0 +1,250 @@
+package com.shoppinglist.mgmt.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.shoppinglist.mgmt.constants.Constants;
+import com.shoppinglist.mgmt.dto.BulkImportResponse;
+import com.shoppinglist.mgmt.dto.ItemImportFormat;
+import com.shoppinglist.mgmt.dto.ItemRequest;
+import com.shoppinglist.mgmt.dto.ItemRequestDto;
+import com.shoppinglist.mgmt.event.ItemsSavedEvent;
+import com.shoppinglist.mgmt.exception.CustomApplicationException;
+import com.shoppinglist.mgmt.model.Item;
+import com.shoppinglist.mgmt.repository.ItemRepository;
+import com.shoppinglist.mgmt.util.AppUtils;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * ItemBulkImportService creates large batches of items, e.g. supplier catalog loads, either from a
+ * JSON request or streamed from a NDJSON/CSV file.
+ *
+ * Items are written in chunks of {@code items.bulk.chunk-size}, each chunk in its own transaction,
+ * so the persistence context stays small and a failure only rolls back the current chunk. Item ids
+ * come from a pooled sequence, which lets Hibernate send the inserts of a chunk as JDBC batches.
+ */
+@Service
+@Timed(value = "app.service", histogram = true)
+public class ItemBulkImportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ItemBulkImportService.class);
+
+	private final ItemRepository itemRepository;
+
+	private final AppUtils utils;
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int chunkSize;
+
+	private final int maxItems;
+
+	private final int maxReportedErrors;
+
+	private final ObjectMapper objectMapper;
+
+	private final CsvMapper csvMapper = CsvMapper.builder()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.build();
+
+	private final Counter importedCounter;
+
+	private final Counter rejectedCounter;
+
+	private final Timer chunkTimer;
+
+	/**
+	 * @param itemRepository
+	 * @param utils
+	 * @param eventPublisher
+	 * @param transactionManager
+	 * @param meterRegistry
+	 * @param objectMapper
+	 * @param chunkSize
+	 * @param maxItems
+	 * @param maxReportedErrors
+	 */
+	public ItemBulkImportService(ItemRepository itemRepository, AppUtils utils, ApplicationEventPublisher eventPublisher,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+			@Value("${items.bulk.chunk-size:1000}") int chunkSize,
+			@Value("${items.bulk.max-items:50000}") int maxItems,
+			@Value("${items.bulk.max-reported-errors:100}") int maxReportedErrors) {
+		this.itemRepository = itemRepository;
+		this.utils = utils;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = Math.max(1, chunkSize);
+		this.maxItems = maxItems;
+		this.maxReportedErrors = maxReportedErrors;
+		this.objectMapper = objectMapper;
+		this.importedCounter = Counter.builder("items.bulk.imported")
+				.description("Items created through the bulk import")
+				.register(meterRegistry);
+		this.rejectedCounter = Counter.builder("items.bulk.rejected")
+				.description("Invalid records skipped by the bulk import")
+				.register(meterRegistry);
+		this.chunkTimer = Timer.builder("items.bulk.chunk")
+				.description("Time to write one chunk of a bulk import")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * @param request
+	 * @return the number of created items and the write throughput
+	 */
+	public BulkImportResponse importItems(ItemRequest request) {
+		if(null == request.items() || request.items().isEmpty()) {
+			logger.info(Constants.ITEM_REQUIRED_ERROR);
+			throw new CustomApplicationException(Constants.ITEM_REQUIRED_ERROR);
+		}
+		if(request.items().size() > maxItems) {
+			throw new IllegalArgumentException(Constants.BULK_ITEM_LIMIT_EXCEEDED);
+		}
+		logger.info("Bulk importing {} items...", request.items().size());
+		ChunkedImport chunkedImport = new ChunkedImport();
+		int index = 0;
+		for (ItemRequestDto item : request.items()) {
+			chunkedImport.add(item, ++index);
+		}
+		return chunkedImport.finish();
+	}
+
+	/**
+	 * Imports the items of a NDJSON or CSV stream. Records are parsed one at a time and written
+	 * chunk by chunk, so the heap used does not depend on the size of the stream. Invalid records
+	 * are skipped and reported, a malformed record stops the import after the chunks already written.
+	 *
+	 * @param input
+	 * @param format
+	 * @return the number of created and rejected items and the throughput
+	 * @throws IOException if the stream cannot be read
+	 */
+	public BulkImportResponse importStream(InputStream input, ItemImportFormat format) throws IOException {
+		logger.info("Streaming {} item import...", format);
+		ChunkedImport chunkedImport = new ChunkedImport();
+		try (MappingIterator<ItemRequestDto> records = readerFor(format).readValues(input)) {
+			while (true) {
+				try {
+					if (!records.hasNextValue()) {
+						break;
+					}
+					ItemRequestDto item = records.nextValue();
+					chunkedImport.add(item, records.getCurrentLocation().getLineNr());
+				} catch (JsonProcessingException e) {
+					long line = e.getLocation() == null ? records.getCurrentLocation().getLineNr() : e.getLocation().getLineNr();
+					logger.warn("Malformed {} record at line {}: {}", format, line, e.getOriginalMessage());
+					chunkedImport.flush();
+					throw new IllegalArgumentException(String.format(Constants.MALFORMED_IMPORT, line, chunkedImport.imported));
+				}
+			}
+		}
+		return chunkedImport.finish();
+	}
+
+	private ObjectReader readerFor(ItemImportFormat format) {
+		return switch (format) {
+		case NDJSON -> objectMapper.readerFor(ItemRequestDto.class)
+				.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		case CSV -> csvMapper.readerFor(ItemRequestDto.class).with(CsvSchema.emptySchema().withHeader());
+		};
+	}
+
+	private List<Item> writeChunk(List<ItemRequestDto> chunk) {
+		List<Item> savedItems = chunkTimer.record(
+				() -> transactionTemplate.execute(status -> itemRepository.saveAll(utils.dtoToEntity(chunk))));
+		importedCounter.increment(savedItems.size());
+		eventPublisher.publishEvent(new ItemsSavedEvent(savedItems));
+		return savedItems;
+	}
+
+	/**
+	 * @return the reason why the item cannot be created, null if it is valid
+	 */
+	private static String validate(ItemRequestDto item) {
+		if (item == null || item.name() == null || item.name().isBlank()) {
+			return Constants.INVALID_ITEM_NAME;
+		}
+		if (item.price() == null) {
+			return Constants.INVALID_ITEM_PRICE;
+		}
+		return null;
+	}
+
+	/**
+	 * State of one import: the pending chunk, the counts and the first errors.
+	 */
+	private final class ChunkedImport {
+
+		private final long start = System.nanoTime();
+
+		private final List<ItemRequestDto> chunk = new ArrayList<>(chunkSize);
+
+		private final List<String> errors = new ArrayList<>();
+
+		private long imported;
+
+		private long rejected;
+
+		private int chunks;
+
+		void add(ItemRequestDto item, long line) {
+			String error = validate(item);
+			if (error != null) {
+				rejected++;
+				rejectedCounter.increment();
+				if (errors.size() < maxReportedErrors) {
+					errors.add("line " + line + ": " + error);
+				}
+				return;
+			}
+			chunk.add(item);
+			if (chunk.size() == chunkSize) {
+				flush();
+				logger.info("Import progress: {} items imported, {} rejected", imported, rejected);
+			}
+		}
+
+		void flush() {
+			if (chunk.isEmpty()) {
+				return;
+			}
+			imported += writeChunk(chunk).size();
+			chunks++;
+			chunk.clear();
+		}
+
+		BulkImportResponse finish() {
+			flush();
+			long durationNanos = System.nanoTime() - start;
+			double itemsPerSecond = durationNanos == 0 ? 0 : imported * 1_000_000_000d / durationNanos;
+			logger.info("Imported {} items in {} chunks, {} rejected, {} items/s", imported, chunks, rejected,
+					Math.round(itemsPerSecond));
+			return new BulkImportResponse(imported, rejected, chunks, TimeUnit.NANOSECONDS.toMillis(durationNanos),
+					itemsPerSecond, List.copyOf(errors));
+		}
+	}
+}
@@ -3,44 +3,102 @@ package com.shoppinglist.mgmt.service;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.shoppinglist.mgmt.cache.ItemCatalogCache;
+import com.shoppinglist.mgmt.cache.ResourceVersionCache;
 import com.shoppinglist.mgmt.constants.Constants;
+import com.shoppinglist.mgmt.dto.ItemPageResponse;
 import com.shoppinglist.mgmt.dto.ItemRequest;
 import com.shoppinglist.mgmt.dto.ItemResponse;
+import com.shoppinglist.mgmt.dto.ItemResponseDto;
+import com.shoppinglist.mgmt.event.ItemsSavedEvent;
 import com.shoppinglist.mgmt.exception.CustomApplicationException;
 import com.shoppinglist.mgmt.model.Item;
 import com.shoppinglist.mgmt.repository.ItemRepository;
 import com.shoppinglist.mgmt.util.AppUtils;
 
+import io.micrometer.core.annotation.Timed;
+
 /**
  * ItemService provides methods implementation
  * to create new items in DB and to find existing items in the DB.
  */
 @Service
+@Timed(value = "app.service", histogram = true)
 public class ItemService {
  
 	private static final Logger logger = LoggerFactory.getLogger(ItemService.class);
 	
+	static final int MAX_PAGE_SIZE = 1000;
+	
 	private ItemRepository itemRepository;
 	
 	private AppUtils utils;
 	
+	private ItemCatalogCache itemCatalogCache;
+	
+	private ApplicationEventPublisher eventPublisher;
+	
+	private ResourceVersionCache versionCache;
+	
 	/**
 	 * @param itemRepository
 	 * @param utils
+	 * @param itemCatalogCache
+	 * @param eventPublisher
+	 * @param versionCache
 	 */
-	public ItemService(ItemRepository itemRepository,AppUtils utils) {
+	public ItemService(ItemRepository itemRepository,AppUtils utils, ItemCatalogCache itemCatalogCache, ApplicationEventPublisher eventPublisher,
+			ResourceVersionCache versionCache) {
 		this.itemRepository = itemRepository;
 		this.utils = utils;
+		this.itemCatalogCache = itemCatalogCache;
+		this.eventPublisher = eventPublisher;
+		this.versionCache = versionCache;
 	}
 
-	public ItemResponse findAll(){
-		logger.info("Getting all the Items from DB...");
-		return new ItemResponse(utils.entityToDtoItem(itemRepository.findAll()));
+	/**
+	 * @param after id of the last item of the previous page, null for the first page
+	 * @param size maximum number of items of the page, at most MAX_PAGE_SIZE
+	 * @return the page and the cursor of the next one
+	 */
+	public ItemPageResponse findPage(Long after, int size){
+		if(logger.isDebugEnabled()) {
+			logger.debug("Getting a page of {} Items after {} from DB...", size, after);
+		}
+		if(size < 1) {
+			throw new CustomApplicationException(Constants.INVALID_LIMIT);
+		}
+		int pageSize = Math.min(size, MAX_PAGE_SIZE);
+		List<Item> items = itemRepository.findPageAfter(after == null ? 0L : after, PageRequest.of(0, pageSize + 1));
+		Long nextCursor = null;
+		if(items.size() > pageSize) {
+			items = items.subList(0, pageSize);
+			nextCursor = items.get(pageSize - 1).getItemId();
+		}
+		return new ItemPageResponse(utils.entityToDtoItem(items), nextCursor);
+	}
+	
+	/**
+	 * Hands every item to the consumer as it is read from a DB cursor, without loading the catalog in memory.
+	 *
+	 * @param consumer
+	 */
+	@Transactional(readOnly = true)
+	public void streamAll(Consumer<ItemResponseDto> consumer) {
+		logger.debug("Streaming all the Items from DB...");
+		try (Stream<ItemResponseDto> items = itemRepository.streamAllAsDto()) {
+			items.forEach(consumer);
+		}
 	}
 	
 	
@@ -49,28 +107,37 @@ public class ItemService {
 	 * @return
 	 */
 	public ItemResponse getItemByCode(String code) {
-		logger.info("Getting the Item by code from DB...");
-		Optional<Item> optItem = itemRepository.findByCode(code);
+		logger.debug("Getting the Item by code from catalog...");
+		Optional<Item> optItem = itemCatalogCache.findByCode(code);
 		if(optItem.isPresent()) {
+			versionCache.update(ResourceVersionCache.ITEM, code, optItem.get().getVersion());
 			return new ItemResponse(Arrays.asList(utils.toDto(optItem.get())));
 		}else {
-			logger.info("No Item found for the code.");
+			logger.debug("No Item found for the code {}", code);
 			throw new CustomApplicationException(Constants.NO_ITEM_FOUND_FOR_CODE);
 		}
 	}
 	
+	/**
+	 * @param code
+	 * @return the last version of the item read or written, empty if it is not known without a DB read
+	 */
+	public Optional<Long> findCachedVersion(String code) {
+		return versionCache.find(ResourceVersionCache.ITEM, code);
+	}
 	
 	/**
 	 * @param request
 	 * @return
 	 */
 	public ItemResponse saveItems(ItemRequest request) {
-		logger.info("Saving the Items in DB...");
+		logger.debug("Saving the Items in DB...");
 		if(null == request.items() || request.items().isEmpty()) {
 			logger.info(Constants.ITEM_REQUIRED_ERROR);
 			throw new CustomApplicationException(Constants.ITEM_REQUIRED_ERROR);
 		}
 		List<Item> savedItems = itemRepository.saveAll(utils.dtoToEntity(request.items()));
+		eventPublisher.publishEvent(new ItemsSavedEvent(savedItems));
 		return new ItemResponse(utils.entityToDtoItem(savedItems));
 	}
 	
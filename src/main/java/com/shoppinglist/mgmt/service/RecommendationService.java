@@ -1,8 +1,10 @@
 package com.shoppinglist.mgmt.service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,17 +12,22 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.shoppinglist.mgmt.cache.ItemCatalogCache;
 import com.shoppinglist.mgmt.constants.Constants;
 import com.shoppinglist.mgmt.dto.ItemResponse;
 import com.shoppinglist.mgmt.exception.CustomApplicationException;
-import com.shoppinglist.mgmt.model.ShoppingList;
-import com.shoppinglist.mgmt.model.ShoppingListItem;
+import com.shoppinglist.mgmt.model.Item;
 import com.shoppinglist.mgmt.repository.ItemRepository;
+import com.shoppinglist.mgmt.repository.ShoppingListItemRow;
 import com.shoppinglist.mgmt.repository.ShoppingListRepository;
+import com.shoppinglist.mgmt.suggestionengine.ItemPrefixIndex;
 import com.shoppinglist.mgmt.suggestionengine.RecommendationEngineContext;
 import com.shoppinglist.mgmt.suggestionengine.RecommendationStrategyType;
+import com.shoppinglist.mgmt.suggestionengine.ScoredItem;
 import com.shoppinglist.mgmt.util.AppUtils;
 
+import io.micrometer.core.annotation.Timed;
+
 /**
  * 
  * This Service class acts as the central implementation for different types of recommendation
@@ -28,10 +35,17 @@ import com.shoppinglist.mgmt.util.AppUtils;
  *
  */
 @Service
+@Timed(value = "app.service", histogram = true)
 public class RecommendationService {
 	
 	private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
 
+	/** Suggestions asked to the strategy per item returned, the surplus replaces inactive or deleted items. */
+	private static final int SUGGESTION_OVERFETCH = 2;
+
+	/** Times the strategy is asked again, for twice as many suggestions, while the limit is not reached. */
+	private static final int MAX_SUGGESTION_ROUNDS = 3;
+
 	private ItemRepository itemRepository;
 	
 	private ShoppingListRepository shoppingListRepository;
@@ -40,50 +54,98 @@ public class RecommendationService {
 	
 	private RecommendationEngineContext recommendationEngine;
 	
+	private ItemPrefixIndex itemPrefixIndex;
+	
+	private ItemCatalogCache itemCatalogCache;
+	
 	/**
 	 * @param itemRepository
 	 * @param shoppingListRepository
 	 * @param utils
 	 * @param recommendationEngine
+	 * @param itemPrefixIndex
+	 * @param itemCatalogCache
 	 */
-	public RecommendationService(ItemRepository itemRepository, ShoppingListRepository shoppingListRepository, AppUtils utils, RecommendationEngineContext recommendationEngine) {
+	public RecommendationService(ItemRepository itemRepository, ShoppingListRepository shoppingListRepository, AppUtils utils, RecommendationEngineContext recommendationEngine,
+			ItemPrefixIndex itemPrefixIndex, ItemCatalogCache itemCatalogCache) {
 		super();
 		this.itemRepository = itemRepository;
 		this.shoppingListRepository = shoppingListRepository;
 		this.utils = utils;
 		this.recommendationEngine = recommendationEngine;
+		this.itemPrefixIndex = itemPrefixIndex;
+		this.itemCatalogCache = itemCatalogCache;
 	}
 	
 	/**
+	 * Serves the suggestions from the in-memory prefix index and only falls back to the DB
+	 * while the index is still being built at startup.
+	 * 
 	 * @param prefix
 	 * @param limit
 	 * @return
 	 */
 	public ItemResponse findItemsStartingWith(String prefix,int limit) {
-		logger.info("Suggesting items that starts with {}", prefix);
+		logger.debug("Suggesting items that starts with {}", prefix);
 		if(prefix == null || prefix.length()<3) {
 			throw new CustomApplicationException(Constants.INVALID_PREFIX);
 		}
+		String normalizedPrefix = Item.normalizeName(prefix);
+		if(itemPrefixIndex.isReady()) {
+			return new ItemResponse(utils.entityToDtoItem(itemPrefixIndex.findByPrefix(normalizedPrefix, limit)));
+		}
 		Pageable page = PageRequest.of(0, limit);
-		return new ItemResponse(utils.entityToDtoItem(itemRepository.findItemsByNameStartingWith(prefix.trim().toLowerCase(),page)));
+		String likePrefix = normalizedPrefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+		return new ItemResponse(utils.entityToDtoItem(itemRepository.findItemsByNameStartingWith(likePrefix,page)));
 	}
 	
 	/**
+	 * Only the best suggestions of the strategy are loaded from the item catalog, in the order of their
+	 * ranking. Suggested items which are no longer active are skipped: the strategy is asked for more
+	 * suggestions than the limit, and for more again while the limit is not reached and it has more to give.
+	 * 
 	 * @param code
 	 * @param strategy
+	 * @param limit
 	 * @return
 	 */
-	public ItemResponse findSuggestionsForShoppingList(String code, RecommendationStrategyType strategy) {
-		logger.info("Suggesting items for the existing shopping list");
-		Optional<ShoppingList> optional = shoppingListRepository.findByCode(code);
-		if(optional.isPresent()) {
-			ShoppingList shopList = optional.get();
-			List<String> existingItems = shopList.getItems().stream().map(ShoppingListItem::getItemCode)
-					.collect(Collectors.toList());
+	public ItemResponse findSuggestionsForShoppingList(String code, RecommendationStrategyType strategy, int limit) {
+		if(logger.isDebugEnabled()) {
+			logger.debug("Suggesting {} items with {} for the shopping list {}", limit, strategy, code);
+		}
+		if(limit < 1) {
+			throw new CustomApplicationException(Constants.INVALID_LIMIT);
+		}
+		List<ShoppingListItemRow> rows = shoppingListRepository.findRowsByCode(code);
+		if(!rows.isEmpty()) {
+			List<String> existingItems = rows.stream().map(ShoppingListItemRow::itemCode).filter(Objects::nonNull)
+					.toList();
 			
-			return new ItemResponse(utils.entityToDtoItem(itemRepository.findByItemCodeIn(recommendationEngine.recommend(existingItems,strategy))));
+			return new ItemResponse(utils.entityToDtoItem(activeSuggestions(existingItems, strategy, limit)));
 		}else {
 			throw new CustomApplicationException(Constants.NO_SHOPLIST_FOUND_FOR_CODE);
 		}
 	}
+	
+	private List<Item> activeSuggestions(List<String> existingItems, RecommendationStrategyType strategy, int limit) {
+		List<Item> suggestions = new ArrayList<>(Math.min(limit, 64));
+		Set<String> seenCodes = new HashSet<>();
+		int candidates = (int) Math.min(Integer.MAX_VALUE, (long) limit * SUGGESTION_OVERFETCH);
+		for(int round = 0; round < MAX_SUGGESTION_ROUNDS; round++) {
+			List<ScoredItem> ranked = recommendationEngine.recommend(existingItems, strategy, candidates);
+			// a larger top K starts with the smaller one, only the codes not loaded yet are looked up
+			List<String> newCodes = ranked.stream().map(ScoredItem::itemCode).filter(seenCodes::add).toList();
+			for(Item item : itemCatalogCache.findByCodes(newCodes).values()) {
+				if(suggestions.size() == limit) {
+					break;
+				}
+				suggestions.add(item);
+			}
+			if(suggestions.size() == limit || ranked.size() < candidates) {
+				break;
+			}
+			candidates = (int) Math.min(Integer.MAX_VALUE, (long) candidates * 2);
+		}
+		return suggestions;
+	}
 }
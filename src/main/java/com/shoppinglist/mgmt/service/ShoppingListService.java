@@ -1,115 +1,440 @@
 package com.shoppinglist.mgmt.service;
 
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.shoppinglist.mgmt.cache.ItemCatalogCache;
+import com.shoppinglist.mgmt.cache.ResourceVersionCache;
 import com.shoppinglist.mgmt.constants.Constants;
 import com.shoppinglist.mgmt.dto.ShopListItemDto;
+import com.shoppinglist.mgmt.dto.ShopListItemOperation;
+import com.shoppinglist.mgmt.dto.ShopListItemPatchDto;
 import com.shoppinglist.mgmt.dto.ShoppingListRequestDto;
+import com.shoppinglist.mgmt.dto.ShoppingListPatchRequestDto;
 import com.shoppinglist.mgmt.dto.ShoppingListResponseDto;
 import com.shoppinglist.mgmt.dto.ShoppingListUpdateRequestDto;
+import com.shoppinglist.mgmt.event.ShoppingListChangedEvent;
+import com.shoppinglist.mgmt.exception.ConflictException;
 import com.shoppinglist.mgmt.exception.CustomApplicationException;
-import com.shoppinglist.mgmt.model.Item;
 import com.shoppinglist.mgmt.model.ShoppingList;
 import com.shoppinglist.mgmt.model.ShoppingListItem;
-import com.shoppinglist.mgmt.repository.ItemRepository;
+import com.shoppinglist.mgmt.repository.ShoppingListItemRow;
 import com.shoppinglist.mgmt.repository.ShoppingListRepository;
 import com.shoppinglist.mgmt.util.AppUtils;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * ShoppingListService provides methods implementation
  * - to create new Shoppinglist in DB 
  * - to find existing Shoppinglist in the DB
  * - to update existing Shoppinglist with new items in the DB
+ * - to partially update existing Shoppinglist (add, remove or change quantity of single items)
+ * 
+ * Updates are applied as a diff on the persisted items, so only the changed rows are written.
+ * A {@link ShoppingListChangedEvent} is published whenever the items of a list change.
+ * Every change increments the version of the list, the versions read and written are kept in the
+ * {@link ResourceVersionCache} for conditional reads.
+ * 
+ * Updates are optimistic: the version of the list is checked when the change is written, and an update
+ * which lost the race against a concurrent one is applied again on the new state of the list, up to
+ * {@code shoppinglist.update.max-attempts} times. A client sending the version its change is based on
+ * gets a 409 if the list changed since, unless the change is a patch whose items were not changed since,
+ * which is merged.
  */
 @Service
+@Timed(value = "app.service", histogram = true)
 public class ShoppingListService {
 
 	private static final Logger logger = LoggerFactory.getLogger(ShoppingListService.class);
 	
 	private ShoppingListRepository shoppingListRepository;
 	
-	private ItemRepository itemRepository;
+	private ItemCatalogCache itemCatalogCache;
 
 	private AppUtils utils;
 	
+	private ApplicationEventPublisher eventPublisher;
+	
+	private ResourceVersionCache versionCache;
+	
+	private TransactionTemplate transactionTemplate;
+	
+	private int maxAttempts;
+	
+	private Counter retriedCounter;
+	
+	private Counter mergedCounter;
+	
+	private Counter rejectedCounter;
+	
 	/**
 	 * @param shoppingListRepository
-	 * @param itemRepository
+	 * @param itemCatalogCache
 	 * @param utils
+	 * @param eventPublisher
+	 * @param versionCache
+	 * @param transactionManager
+	 * @param meterRegistry
+	 * @param maxAttempts number of times an update is applied before giving up on concurrent updates
 	 */
-	public ShoppingListService(ShoppingListRepository shoppingListRepository, ItemRepository itemRepository, AppUtils utils) {
+	public ShoppingListService(ShoppingListRepository shoppingListRepository, ItemCatalogCache itemCatalogCache, AppUtils utils,
+			ApplicationEventPublisher eventPublisher, ResourceVersionCache versionCache,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${shoppinglist.update.max-attempts:3}") int maxAttempts) {
 		this.shoppingListRepository = shoppingListRepository;
-		this.itemRepository = itemRepository;
+		this.itemCatalogCache = itemCatalogCache;
 		this.utils = utils;
+		this.eventPublisher = eventPublisher;
+		this.versionCache = versionCache;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.retriedCounter = updateConflicts(meterRegistry, "retried");
+		this.mergedCounter = updateConflicts(meterRegistry, "merged");
+		this.rejectedCounter = updateConflicts(meterRegistry, "rejected");
+	}
+	
+	private static Counter updateConflicts(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("shoppinglist.update.conflicts")
+				.description("Shopping list updates which met a concurrent update")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
 	}
 	
 	/**
+	 * Reads the list and its items with one join query into DTOs, no entity is loaded.
+	 * 
 	 * @param code
 	 * @return
 	 */
 	public ShoppingListResponseDto findByCode(String code) {
-		logger.info("Getting Shopping list by code...");
-		Optional<ShoppingList> optional = shoppingListRepository.findByCode(code);
-		if(optional.isPresent()) {
-			return utils.entityToDtoShoppinglist(optional.get());
+		logger.debug("Getting Shopping list by code...");
+		List<ShoppingListItemRow> rows = shoppingListRepository.findRowsByCode(code);
+		if(!rows.isEmpty()) {
+			ShoppingListResponseDto shopList = utils.rowsToDtoShoppinglist(rows);
+			versionCache.update(ResourceVersionCache.SHOPPING_LIST, code, shopList.version());
+			return shopList;
 		}else {
 			throw new CustomApplicationException(Constants.NO_SHOPLIST_FOUND_FOR_CODE);
 		}
 		
 	}
 	
+	/**
+	 * @param code
+	 * @return the last version of the list read or written, empty if it is not known without a DB read
+	 */
+	public Optional<Long> findCachedVersion(String code) {
+		return versionCache.find(ResourceVersionCache.SHOPPING_LIST, code);
+	}
+	
 	/**
 	 * @param request
 	 * @return
 	 */
 	public ShoppingListResponseDto createShoppingList(ShoppingListRequestDto request) {
-		logger.info("Creating Shopping list ...");
+		logger.debug("Creating Shopping list ...");
 		ShoppingList shopList = new ShoppingList();
 		shopList.setName(request.name());
 		shopList.setCode(utils.generateShopListCode());
 		
-		Set<ShoppingListItem> dbItems = new HashSet<>();
-		for(ShopListItemDto dtoObj: request.items()) {
-			Optional<Item> optItem = itemRepository.findByCode(dtoObj.itemCode());
-			if(optItem.isPresent()) {
-			dbItems.add(
-					ShoppingListItem.builder().itemCode(dtoObj.itemCode()).itemQuantity(dtoObj.itemQuantity()).build());
-			}
-		}
+		Set<ShoppingListItem> dbItems = toShoppingListItems(request.items());
 		if(dbItems.size()<1) {
 			throw new CustomApplicationException(Constants.NO_MATCHING_ITEM_IN_DB);
 		}
 		shopList.setItems(dbItems);
 		
-		return  utils.entityToDtoShoppinglist(shoppingListRepository.save(shopList));
+		ShoppingList savedList = shoppingListRepository.save(shopList);
+		versionCache.update(ResourceVersionCache.SHOPPING_LIST, savedList.getCode(), savedList.getVersion());
+		publishChange(Set.of(), itemCodesOf(dbItems));
+		return  utils.entityToDtoShoppinglist(savedList);
 	}
 
 	/**
+	 * Replaces the items of the list. A full replacement cannot be merged, so it is rejected if the list
+	 * changed since the expected version of the request.
+	 * 
 	 * @param request
 	 * @return
 	 */
 	public ShoppingListResponseDto updateShoppingList(ShoppingListUpdateRequestDto request) {
+		return withRetry(request.code(), () -> applyUpdate(request));
+	}
+	
+	private ShoppingListResponseDto applyUpdate(ShoppingListUpdateRequestDto request) {
 		Optional<ShoppingList> optional = shoppingListRepository.findByCode(request.code());
 		if(optional.isPresent()) {
 			ShoppingList dbShopList = optional.get();
-			Set<ShoppingListItem> dbItems = new HashSet<>();
-			for(ShopListItemDto dtoObj: request.items()) {
-				Optional<Item> optItem = itemRepository.findByCode(dtoObj.itemCode());
-				if(optItem.isPresent()) {
-					dbItems.add(
-							ShoppingListItem.builder().itemCode(dtoObj.itemCode()).itemQuantity(dtoObj.itemQuantity()).build());
-				}
+			if(isStale(dbShopList, request.expectedVersion())) {
+				throw conflict(dbShopList, request.expectedVersion());
 			}
-			dbShopList.setItems(dbItems);
-			return utils.entityToDtoShoppinglist(shoppingListRepository.save(dbShopList));
+			long nextVersion = nextVersionOf(dbShopList);
+			Map<String, Integer> requestedItems = toShoppingListItems(request.items()).stream()
+					.collect(Collectors.toMap(ShoppingListItem::getItemCode, ShoppingListItem::getItemQuantity));
+			Set<ShoppingListItem> dbItems = itemsOf(dbShopList);
+			Map<String, Integer> previousQuantities = quantitiesOf(dbItems);
+			Map<String, ShoppingListItem> existingItems = byItemCode(dbItems);
+			dbItems.removeIf(item -> !requestedItems.containsKey(item.getItemCode()));
+			requestedItems.forEach((code, quantity) -> setQuantity(dbItems, existingItems.get(code), code, quantity, nextVersion));
+			return saveChanges(dbShopList, previousQuantities);
 		}else {
 			throw new CustomApplicationException(Constants.NO_SHOPLIST_FOUND_FOR_CODE);
 		}
 	}
+	
+	/**
+	 * Applies the requested item changes on the existing shopping list.
+	 * Items to add which are not active in DB are ignored, like in create and update.
+	 * If the list changed since the expected version of the request, the changes are still applied when
+	 * none of their items was added, removed or had its quantity changed since.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	public ShoppingListResponseDto patchShoppingList(ShoppingListPatchRequestDto request) {
+		logger.debug("Patching Shopping list ...");
+		return withRetry(request.code(), () -> applyPatch(request));
+	}
+	
+	private ShoppingListResponseDto applyPatch(ShoppingListPatchRequestDto request) {
+		Optional<ShoppingList> optional = shoppingListRepository.findByCode(request.code());
+		if(optional.isEmpty()) {
+			throw new CustomApplicationException(Constants.NO_SHOPLIST_FOUND_FOR_CODE);
+		}
+		ShoppingList dbShopList = optional.get();
+		Set<ShoppingListItem> dbItems = itemsOf(dbShopList);
+		if(isStale(dbShopList, request.expectedVersion())) {
+			mergeOrReject(dbShopList, request);
+		}
+		long nextVersion = nextVersionOf(dbShopList);
+		Map<String, Integer> previousQuantities = quantitiesOf(dbItems);
+		
+		Set<String> codesToAdd = request.changes().stream()
+				.filter(change -> change.operation() == ShopListItemOperation.ADD)
+				.map(ShopListItemPatchDto::itemCode)
+				.collect(Collectors.toSet());
+		Set<String> activeCodes = itemCatalogCache.findByCodes(codesToAdd).keySet();
+		
+		Map<String, ShoppingListItem> existingItems = byItemCode(dbItems);
+		for(ShopListItemPatchDto change: request.changes()) {
+			ShoppingListItem existing = existingItems.get(change.itemCode());
+			switch (change.operation()) {
+			case ADD -> {
+				if(activeCodes.contains(change.itemCode())) {
+					int quantity = requireQuantity(change);
+					int newQuantity = existing == null ? quantity : addQuantity(existing.getItemQuantity(), quantity);
+					existingItems.put(change.itemCode(), setQuantity(dbItems, existing, change.itemCode(), newQuantity, nextVersion));
+				}
+			}
+			case UPDATE_QUANTITY -> {
+				if(existing != null) {
+					setQuantity(dbItems, existing, change.itemCode(), requireQuantity(change), nextVersion);
+				}
+			}
+			case REMOVE -> {
+				if(existing != null) {
+					dbItems.remove(existing);
+					existingItems.remove(change.itemCode());
+				}
+			}
+			}
+		}
+		return saveChanges(dbShopList, previousQuantities);
+	}
+	
+	/**
+	 * Applies the change in a new transaction each time the write fails on the version check, i.e.
+	 * another update of the list committed since the list was read.
+	 */
+	private ShoppingListResponseDto withRetry(String code, Supplier<ShoppingListResponseDto> change) {
+		for(int attempt = 1; ; attempt++) {
+			try {
+				return transactionTemplate.execute(status -> change.get());
+			} catch (OptimisticLockingFailureException e) {
+				if(attempt >= maxAttempts) {
+					logger.warn("Shopping list {} still updated concurrently after {} attempts", code, attempt);
+					rejectedCounter.increment();
+					throw new ConflictException(Constants.SHOPLIST_CONCURRENT_UPDATE);
+				}
+				logger.debug("Shopping list {} updated concurrently, applying the change again", code);
+				retriedCounter.increment();
+			}
+		}
+	}
+	
+	private boolean isStale(ShoppingList dbShopList, Long expectedVersion) {
+		return expectedVersion != null && expectedVersion != versionOf(dbShopList);
+	}
+	
+	/**
+	 * The patch is merged if none of its items changed or was removed after the expected version.
+	 */
+	private void mergeOrReject(ShoppingList dbShopList, ShoppingListPatchRequestDto request) {
+		long expectedVersion = request.expectedVersion();
+		Set<String> patchedCodes = request.changes().stream().map(ShopListItemPatchDto::itemCode).collect(Collectors.toSet());
+		Map<String, Long> removedItems = removedItemsOf(dbShopList);
+		boolean overlapping = expectedVersion > versionOf(dbShopList) || itemsOf(dbShopList).stream()
+				.anyMatch(item -> patchedCodes.contains(item.getItemCode())
+						&& item.getChangedInVersion() != null && item.getChangedInVersion() > expectedVersion)
+				|| patchedCodes.stream().anyMatch(code -> removedItems.getOrDefault(code, 0L) > expectedVersion);
+		if(overlapping) {
+			throw conflict(dbShopList, expectedVersion);
+		}
+		logger.debug("Merging patch of shopping list {} based on version {}", dbShopList.getCode(), expectedVersion);
+		mergedCounter.increment();
+	}
+	
+	private ConflictException conflict(ShoppingList dbShopList, long expectedVersion) {
+		rejectedCounter.increment();
+		return new ConflictException(String.format(Constants.SHOPLIST_VERSION_CONFLICT, expectedVersion, versionOf(dbShopList)));
+	}
+	
+	private long versionOf(ShoppingList shopList) {
+		return shopList.getVersion() == null ? 0 : shopList.getVersion();
+	}
+	
+	/**
+	 * A change is written with a single flush, which increments the version of the list once.
+	 */
+	private long nextVersionOf(ShoppingList shopList) {
+		return versionOf(shopList) + 1;
+	}
+	
+	/**
+	 * Writes the changed items, if any, and increments the version of the list. The list is flushed
+	 * so the returned version is the one written. The removed items are remembered with that version.
+	 */
+	private ShoppingListResponseDto saveChanges(ShoppingList dbShopList, Map<String, Integer> previousQuantities) {
+		Set<ShoppingListItem> dbItems = itemsOf(dbShopList);
+		Map<String, Integer> currentQuantities = quantitiesOf(dbItems);
+		if(previousQuantities.equals(currentQuantities)) {
+			return utils.entityToDtoShoppinglist(dbShopList);
+		}
+		long nextVersion = nextVersionOf(dbShopList);
+		Map<String, Long> removedItems = removedItemsOf(dbShopList);
+		removedItems.keySet().removeAll(currentQuantities.keySet());
+		previousQuantities.keySet().stream().filter(code -> !currentQuantities.containsKey(code))
+				.forEach(code -> removedItems.put(code, nextVersion));
+		dbShopList.setUpdatedAt(Instant.now());
+		ShoppingList savedList = shoppingListRepository.saveAndFlush(dbShopList);
+		versionCache.updateAfterCommit(ResourceVersionCache.SHOPPING_LIST, savedList.getCode(), savedList.getVersion());
+		publishChange(previousQuantities.keySet(), itemCodesOf(dbItems));
+		return utils.entityToDtoShoppinglist(savedList);
+	}
+	
+	private Set<ShoppingListItem> itemsOf(ShoppingList shopList) {
+		if(shopList.getItems() == null) {
+			shopList.setItems(new HashSet<>());
+		}
+		return shopList.getItems();
+	}
+	
+	private Map<String, Long> removedItemsOf(ShoppingList shopList) {
+		if(shopList.getRemovedItems() == null) {
+			shopList.setRemovedItems(new HashMap<>());
+		}
+		return shopList.getRemovedItems();
+	}
+	
+	private Set<String> itemCodesOf(Set<ShoppingListItem> dbItems) {
+		return dbItems.stream().map(ShoppingListItem::getItemCode).collect(Collectors.toSet());
+	}
+	
+	/**
+	 * Quantity only changes do not change the items of the list and are not published.
+	 */
+	private void publishChange(Set<String> previousCodes, Set<String> currentCodes) {
+		if(!previousCodes.equals(currentCodes)) {
+			eventPublisher.publishEvent(new ShoppingListChangedEvent(previousCodes, currentCodes));
+		}
+	}
+	
+	private Map<String, Integer> quantitiesOf(Set<ShoppingListItem> dbItems) {
+		return dbItems.stream().collect(Collectors.toMap(ShoppingListItem::getItemCode, ShoppingListItem::getItemQuantity));
+	}
+	
+	private Map<String, ShoppingListItem> byItemCode(Set<ShoppingListItem> dbItems) {
+		return dbItems.stream().collect(Collectors.toMap(ShoppingListItem::getItemCode, Function.identity()));
+	}
+	
+	/**
+	 * Changes the quantity of the existing line in place, otherwise adds a new line to the list.
+	 * Unchanged lines are left untouched so they are not rewritten in DB.
+	 */
+	private ShoppingListItem setQuantity(Set<ShoppingListItem> dbItems, ShoppingListItem existing, String itemCode, int quantity,
+			long nextVersion) {
+		if(existing == null) {
+			ShoppingListItem newItem = ShoppingListItem.builder().itemCode(itemCode).itemQuantity(quantity)
+					.changedInVersion(nextVersion).build();
+			dbItems.add(newItem);
+			return newItem;
+		}
+		if(existing.getItemQuantity() != quantity) {
+			existing.setItemQuantity(quantity);
+			existing.setChangedInVersion(nextVersion);
+		}
+		return existing;
+	}
+	
+	private int requireQuantity(ShopListItemPatchDto change) {
+		if(change.itemQuantity() == null) {
+			throw new CustomApplicationException(Constants.INVALID_ITEM_QUANTITY);
+		}
+		if(change.itemQuantity() <= 0) {
+			throw new IllegalArgumentException(Constants.NON_POSITIVE_ITEM_QUANTITY);
+		}
+		return change.itemQuantity();
+	}
+	
+	/**
+	 * Adds a quantity to the one already in the list, rejecting a total which does not fit an int
+	 * instead of letting it wrap around to a negative quantity.
+	 */
+	private int addQuantity(int existingQuantity, int quantity) {
+		try {
+			return Math.addExact(existingQuantity, quantity);
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException(String.format(Constants.ITEM_QUANTITY_OVERFLOW, Integer.MAX_VALUE));
+		}
+	}
+	
+	/**
+	 * Keeps only the requested items whose code belongs to an active item. The codes are validated
+	 * against the item catalog cache, which loads all the missing codes with a single query.
+	 * 
+	 * @param requestItems
+	 * @return
+	 */
+	private Set<ShoppingListItem> toShoppingListItems(List<ShopListItemDto> requestItems) {
+		Set<String> requestedCodes = requestItems.stream().map(ShopListItemDto::itemCode).collect(Collectors.toSet());
+		Set<String> activeCodes = itemCatalogCache.findByCodes(requestedCodes).keySet();
+		Set<ShoppingListItem> dbItems = new HashSet<>();
+		for(ShopListItemDto dtoObj: requestItems) {
+			if(activeCodes.contains(dtoObj.itemCode())) {
+				dbItems.add(
+						ShoppingListItem.builder().itemCode(dtoObj.itemCode()).itemQuantity(dtoObj.itemQuantity())
+								.changedInVersion(0L).build());
+			}
+		}
+		return dbItems;
+	}
 }
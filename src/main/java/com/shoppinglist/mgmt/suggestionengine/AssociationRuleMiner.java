@@ -0,0 +1,142 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Incrementally counts item and item pair supports over shopping lists (transactions) and derives
+ * association rules {@code A -> B} from them, where
+ * - support(A -> B) is the number of lists containing both A and B
+ * - confidence(A -> B) is support(A -> B) / support(A)
+ * 
+ * Rules are mined over frequent pairs, which keeps the counting linear in the number of pairs
+ * per list while covering the co-purchase patterns used for add-on suggestions.
+ * 
+ * The number of counted pairs is capped: when it exceeds maxPairs, the pairs with the lowest support are
+ * dropped until half of the cap is left, as a pair seen in a couple of lists is far from any rule. A dropped
+ * pair which shows up again is counted from zero, so its support is a lower bound until the next reset.
+ * 
+ * This class is not thread safe, it is meant to be fed and mined by a single background job.
+ */
+public class AssociationRuleMiner {
+
+	private final Map<String, Integer> itemSupport = new HashMap<>();
+
+	private final Map<String, Map<String, Integer>> pairSupport = new HashMap<>();
+
+	private final long maxPairs;
+
+	/** Counted pairs, each one is held in the maps of both its items. */
+	private long pairCount;
+
+	private long transactionCount;
+
+	public AssociationRuleMiner() {
+		this(1_000_000);
+	}
+
+	/**
+	 * @param maxPairs maximum number of item pairs counted
+	 */
+	public AssociationRuleMiner(long maxPairs) {
+		if (maxPairs < 1) {
+			throw new IllegalArgumentException("maxPairs must be positive");
+		}
+		this.maxPairs = maxPairs;
+	}
+
+	/**
+	 * @param items item codes of one shopping list, duplicates are ignored
+	 */
+	public void addTransaction(Collection<String> items) {
+		List<String> distinct = new ArrayList<>(new TreeSet<>(items));
+		if (distinct.isEmpty()) {
+			return;
+		}
+		transactionCount++;
+		for (int i = 0; i < distinct.size(); i++) {
+			String first = distinct.get(i);
+			itemSupport.merge(first, 1, Integer::sum);
+			for (int j = i + 1; j < distinct.size(); j++) {
+				String second = distinct.get(j);
+				if (pairSupport.computeIfAbsent(first, key -> new HashMap<>()).merge(second, 1, Integer::sum) == 1) {
+					pairCount++;
+				}
+				pairSupport.computeIfAbsent(second, key -> new HashMap<>()).merge(first, 1, Integer::sum);
+			}
+		}
+		if (pairCount > maxPairs) {
+			prune();
+		}
+	}
+
+	/**
+	 * Drops the pairs supported by 1 list, then 2 lists and so on, until half of maxPairs is left.
+	 */
+	private void prune() {
+		for (int floor = 1; pairCount > maxPairs / 2; floor++) {
+			int maxDropped = floor;
+			long entries = 0;
+			for (Iterator<Map<String, Integer>> it = pairSupport.values().iterator(); it.hasNext();) {
+				Map<String, Integer> consequents = it.next();
+				consequents.values().removeIf(support -> support <= maxDropped);
+				if (consequents.isEmpty()) {
+					it.remove();
+				}
+				entries += consequents.size();
+			}
+			pairCount = entries / 2;
+		}
+	}
+
+	/**
+	 * @param minSupport minimum number of lists containing both items of a rule
+	 * @param minConfidence minimum confidence of a rule, between 0 and 1
+	 * @param maxConsequents maximum number of items suggested per antecedent
+	 * @return one rule per antecedent item, ordered by antecedent, with consequents and their confidence by
+	 *         descending confidence
+	 */
+	public List<RecommendationRule> mine(int minSupport, double minConfidence, int maxConsequents) {
+		Comparator<Map.Entry<String, Integer>> byConfidence = Map.Entry.<String, Integer>comparingByValue().reversed()
+				.thenComparing(Map.Entry.comparingByKey());
+		List<RecommendationRule> rules = new ArrayList<>();
+		for (String antecedent : new TreeSet<>(pairSupport.keySet())) {
+			int support = itemSupport.get(antecedent);
+			if (support < minSupport) {
+				continue;
+			}
+			List<Map.Entry<String, Integer>> pairs = pairSupport.get(antecedent).entrySet().stream()
+					.filter(pair -> pair.getValue() >= minSupport && (double) pair.getValue() / support >= minConfidence)
+					.sorted(byConfidence)
+					.limit(maxConsequents)
+					.toList();
+			if (!pairs.isEmpty()) {
+				rules.add(new RecommendationRule(Set.of(antecedent), pairs.stream().map(Map.Entry::getKey).toList(),
+						pairs.stream().map(pair -> (double) pair.getValue() / support).toList()));
+			}
+		}
+		return rules;
+	}
+
+	public long transactionCount() {
+		return transactionCount;
+	}
+
+	public long pairCount() {
+		return pairCount;
+	}
+
+	public void reset() {
+		itemSupport.clear();
+		pairSupport.clear();
+		pairCount = 0;
+		transactionCount = 0;
+	}
+}
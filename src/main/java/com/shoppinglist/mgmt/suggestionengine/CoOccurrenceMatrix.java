@@ -0,0 +1,339 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Item-to-item co-occurrence counts over shopping lists, kept in primitive sparse rows.
+ *
+ * Item codes are interned once to dense int ids. The row of an item holds the ids of the items it
+ * was listed with in a sorted {@code int[]} and the matching counts in a parallel {@code int[]},
+ * so an entry costs 8 bytes and no boxing. A row keeps at most {@code maxNeighbours} entries, which bounds
+ * the heap by the number of items times {@code maxNeighbours} whatever the catalog size. A new neighbour of
+ * a full row replaces the least frequent one and takes over its count (Space-Saving): a neighbour listed
+ * often enough always gets in, and a count overestimates the real one by at most the count it took over.
+ *
+ * Reads run concurrently under a read lock; updates take the write lock.
+ */
+public class CoOccurrenceMatrix {
+
+	private static final int[] NO_IDS = new int[0];
+
+	private final int maxNeighbours;
+
+	private final Map<String, Integer> idsByCode = new HashMap<>();
+
+	private final List<String> codes = new ArrayList<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private int[][] neighbours = new int[1024][];
+
+	private int[][] counts = new int[1024][];
+
+	private int[] sizes = new int[1024];
+
+	/**
+	 * @param maxNeighbours maximum number of neighbours kept per item
+	 */
+	public CoOccurrenceMatrix(int maxNeighbours) {
+		this.maxNeighbours = Math.max(1, maxNeighbours);
+	}
+
+	/**
+	 * Counts the pairs of items of a new shopping list.
+	 */
+	public void add(Collection<String> itemCodes) {
+		replace(List.of(), itemCodes);
+	}
+
+	/**
+	 * Moves the counts of a shopping list from its previous to its current items.
+	 */
+	public void replace(Collection<String> previousItemCodes, Collection<String> currentItemCodes) {
+		lock.writeLock().lock();
+		try {
+			int[] previous = ids(previousItemCodes, false);
+			int[] current = ids(currentItemCodes, true);
+			updatePairs(previous, -1);
+			updatePairs(current, 1);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @param itemCodes items of a shopping list
+	 * @param k maximum number of items to return
+	 * @return the k items most often listed together with the given ones, most frequent first
+	 */
+	public List<ScoredItem> topK(Collection<String> itemCodes, int k) {
+		lock.readLock().lock();
+		try {
+			int[] current = ids(itemCodes, false);
+			if (current.length == 0 || k <= 0) {
+				return List.of();
+			}
+			int candidates = 0;
+			for (int id : current) {
+				candidates += sizes[id];
+			}
+			ScoreTable scores = new ScoreTable(candidates);
+			for (int id : current) {
+				int[] rowIds = neighbours[id];
+				int[] rowCounts = counts[id];
+				for (int i = 0; i < sizes[id]; i++) {
+					if (Arrays.binarySearch(current, rowIds[i]) < 0) {
+						scores.add(rowIds[i], rowCounts[i]);
+					}
+				}
+			}
+			return scores.top(k, codes);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return number of distinct items seen so far
+	 */
+	public int itemCount() {
+		lock.readLock().lock();
+		try {
+			return codes.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return number of non zero entries of the matrix
+	 */
+	public long entryCount() {
+		lock.readLock().lock();
+		try {
+			long total = 0;
+			for (int i = 0; i < codes.size(); i++) {
+				total += sizes[i];
+			}
+			return total;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return distinct, sorted ids of the codes; unknown codes are interned or skipped
+	 */
+	private int[] ids(Collection<String> itemCodes, boolean intern) {
+		if (itemCodes.isEmpty()) {
+			return NO_IDS;
+		}
+		int[] ids = new int[itemCodes.size()];
+		int size = 0;
+		for (String code : itemCodes) {
+			Integer id = idsByCode.get(code);
+			if (id == null && intern) {
+				id = intern(code);
+			}
+			if (id != null) {
+				ids[size++] = id;
+			}
+		}
+		Arrays.sort(ids, 0, size);
+		int distinct = 0;
+		for (int i = 0; i < size; i++) {
+			if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+				ids[distinct++] = ids[i];
+			}
+		}
+		return Arrays.copyOf(ids, distinct);
+	}
+
+	private int intern(String code) {
+		int id = codes.size();
+		if (id == sizes.length) {
+			int capacity = id * 2;
+			neighbours = Arrays.copyOf(neighbours, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+			sizes = Arrays.copyOf(sizes, capacity);
+		}
+		neighbours[id] = NO_IDS;
+		counts[id] = NO_IDS;
+		idsByCode.put(code, id);
+		codes.add(code);
+		return id;
+	}
+
+	private void updatePairs(int[] ids, int delta) {
+		for (int i = 0; i < ids.length; i++) {
+			for (int j = i + 1; j < ids.length; j++) {
+				update(ids[i], ids[j], delta);
+				update(ids[j], ids[i], delta);
+			}
+		}
+	}
+
+	private void update(int row, int neighbour, int delta) {
+		int size = sizes[row];
+		int[] rowIds = neighbours[row];
+		int[] rowCounts = counts[row];
+		int index = Arrays.binarySearch(rowIds, 0, size, neighbour);
+		if (index >= 0) {
+			rowCounts[index] += delta;
+			if (rowCounts[index] <= 0) {
+				removeAt(row, index);
+			}
+			return;
+		}
+		if (delta <= 0) {
+			return;
+		}
+		int count = delta;
+		if (size == maxNeighbours) {
+			int weakest = 0;
+			for (int i = 1; i < size; i++) {
+				if (rowCounts[i] < rowCounts[weakest]) {
+					weakest = i;
+				}
+			}
+			count += rowCounts[weakest];
+			removeAt(row, weakest);
+			size--;
+			index = Arrays.binarySearch(rowIds, 0, size, neighbour);
+		}
+		int insertAt = -index - 1;
+		if (size == rowIds.length) {
+			int capacity = Math.min(maxNeighbours, Math.max(4, size * 2));
+			rowIds = neighbours[row] = Arrays.copyOf(rowIds, capacity);
+			rowCounts = counts[row] = Arrays.copyOf(rowCounts, capacity);
+		}
+		System.arraycopy(rowIds, insertAt, rowIds, insertAt + 1, size - insertAt);
+		System.arraycopy(rowCounts, insertAt, rowCounts, insertAt + 1, size - insertAt);
+		rowIds[insertAt] = neighbour;
+		rowCounts[insertAt] = count;
+		sizes[row] = size + 1;
+	}
+
+	private void removeAt(int row, int index) {
+		int size = sizes[row];
+		System.arraycopy(neighbours[row], index + 1, neighbours[row], index, size - index - 1);
+		System.arraycopy(counts[row], index + 1, counts[row], index, size - index - 1);
+		sizes[row] = size - 1;
+	}
+
+	/**
+	 * Open addressing id -> score table sized for the candidates of one query.
+	 */
+	private static final class ScoreTable {
+
+		private final int[] ids;
+
+		private final long[] scores;
+
+		private final int mask;
+
+		private int size;
+
+		ScoreTable(int candidates) {
+			int capacity = Integer.highestOneBit(Math.max(2, candidates) * 2 - 1) << 1;
+			ids = new int[capacity];
+			scores = new long[capacity];
+			mask = capacity - 1;
+			Arrays.fill(ids, -1);
+		}
+
+		void add(int id, long score) {
+			int slot = (id * 0x9E3779B9) & mask;
+			while (ids[slot] != -1 && ids[slot] != id) {
+				slot = (slot + 1) & mask;
+			}
+			if (ids[slot] == -1) {
+				ids[slot] = id;
+				size++;
+			}
+			scores[slot] += score;
+		}
+
+		/**
+		 * Selects the k best entries with a bounded min-heap, ties broken by the lower id.
+		 */
+		List<ScoredItem> top(int k, List<String> codes) {
+			int limit = Math.min(k, size);
+			int[] heapIds = new int[limit];
+			long[] heapScores = new long[limit];
+			int heapSize = 0;
+			for (int slot = 0; slot < ids.length; slot++) {
+				if (ids[slot] == -1) {
+					continue;
+				}
+				if (heapSize < limit) {
+					heapIds[heapSize] = ids[slot];
+					heapScores[heapSize] = scores[slot];
+					siftUp(heapIds, heapScores, heapSize++);
+				} else if (better(ids[slot], scores[slot], heapIds[0], heapScores[0])) {
+					heapIds[0] = ids[slot];
+					heapScores[0] = scores[slot];
+					siftDown(heapIds, heapScores, heapSize);
+				}
+			}
+			ScoredItem[] result = new ScoredItem[heapSize];
+			for (int i = heapSize - 1; i >= 0; i--) {
+				result[i] = new ScoredItem(codes.get(heapIds[0]), heapScores[0]);
+				heapIds[0] = heapIds[i];
+				heapScores[0] = heapScores[i];
+				siftDown(heapIds, heapScores, i);
+			}
+			return List.of(result);
+		}
+
+		private static boolean better(int id, long score, int otherId, long otherScore) {
+			return score > otherScore || (score == otherScore && id < otherId);
+		}
+
+		private static void siftUp(int[] heapIds, long[] heapScores, int index) {
+			while (index > 0) {
+				int parent = (index - 1) >>> 1;
+				if (!better(heapIds[parent], heapScores[parent], heapIds[index], heapScores[index])) {
+					break;
+				}
+				swap(heapIds, heapScores, parent, index);
+				index = parent;
+			}
+		}
+
+		private static void siftDown(int[] heapIds, long[] heapScores, int size) {
+			int index = 0;
+			while (true) {
+				int left = 2 * index + 1;
+				int weakest = index;
+				if (left < size && better(heapIds[weakest], heapScores[weakest], heapIds[left], heapScores[left])) {
+					weakest = left;
+				}
+				if (left + 1 < size && better(heapIds[weakest], heapScores[weakest], heapIds[left + 1], heapScores[left + 1])) {
+					weakest = left + 1;
+				}
+				if (weakest == index) {
+					return;
+				}
+				swap(heapIds, heapScores, index, weakest);
+				index = weakest;
+			}
+		}
+
+		private static void swap(int[] heapIds, long[] heapScores, int i, int j) {
+			int id = heapIds[i];
+			heapIds[i] = heapIds[j];
+			heapIds[j] = id;
+			long score = heapScores[i];
+			heapScores[i] = heapScores[j];
+			heapScores[j] = score;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.shoppinglist.mgmt.event.ShoppingListChangedEvent;
+import com.shoppinglist.mgmt.repository.ShoppingListRepository;
+
+/**
+ * Recommendation engine which suggests the items most often listed together with the items of a
+ * shopping list, from a {@link CoOccurrenceMatrix} over every stored shopping list.
+ * 
+ * The matrix is loaded once all the singletons are instantiated, before the web server starts
+ * accepting requests, so no {@link ShoppingListChangedEvent} can be applied to a partially loaded
+ * matrix. It is then updated incrementally from those events, once the change is committed.
+ *
+ */
+@Component
+public class CoOccurrenceRecommendationEngine implements RecommendationStrategy, SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(CoOccurrenceRecommendationEngine.class);
+
+	private final ShoppingListRepository shoppingListRepository;
+
+	private final CoOccurrenceMatrix matrix;
+
+	private final int maxSuggestions;
+
+	private final int batchSize;
+
+	/**
+	 * @param shoppingListRepository
+	 * @param maxNeighbours
+	 * @param maxSuggestions
+	 * @param batchSize
+	 */
+	public CoOccurrenceRecommendationEngine(ShoppingListRepository shoppingListRepository,
+			@Value("${suggestion.cooccurrence.max-neighbours:200}") int maxNeighbours,
+			@Value("${suggestion.cooccurrence.max-suggestions:10}") int maxSuggestions,
+			@Value("${suggestion.cooccurrence.batch-size:500}") int batchSize) {
+		this.shoppingListRepository = shoppingListRepository;
+		this.matrix = new CoOccurrenceMatrix(maxNeighbours);
+		this.maxSuggestions = maxSuggestions;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public RecommendationStrategyType getType() {
+		return RecommendationStrategyType.CO_OCCURRENCE;
+	}
+
+	@Override
+	public List<String> suggest(List<String> currentItems) {
+		return matrix.topK(currentItems, maxSuggestions).stream().map(ScoredItem::itemCode).toList();
+	}
+
+	@Override
+	public List<ScoredItem> suggestTop(List<String> currentItems, int limit) {
+		return matrix.topK(currentItems, limit);
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		load();
+	}
+
+	/**
+	 * Loads the co-occurrences of all the stored shopping lists.
+	 */
+	public void load() {
+		long start = System.currentTimeMillis();
+		ShoppingListTransactions.scan(shoppingListRepository, 0L, batchSize, matrix::add);
+		logger.info("Co-occurrence matrix loaded with {} items and {} entries in {} ms", matrix.itemCount(),
+				matrix.entryCount(), System.currentTimeMillis() - start);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onShoppingListChanged(ShoppingListChangedEvent event) {
+		matrix.replace(event.previousItemCodes(), event.currentItemCodes());
+	}
+}
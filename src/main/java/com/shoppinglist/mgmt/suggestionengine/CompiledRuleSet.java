@@ -0,0 +1,149 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, precompiled form of a list of {@link RecommendationRule}s.
+ * <p>
+ * The rules are compiled into an inverted index (item code -> ids of the rules whose antecedent
+ * contains it). Matching a shopping list walks the postings of its items only and counts the hits
+ * per rule: a rule matches once its counter reaches the size of its antecedent. The cost is
+ * therefore proportional to the items of the list, not to the number of rules.
+ * </p>
+ * All the matching rules are applied, in the order in which they were declared. When ranked, a suggestion
+ * scores the sum of the confidences of the matching rules which suggest it, i.e. the number of these rules
+ * when their confidence is not known.
+ */
+public final class CompiledRuleSet {
+
+	private static final CompiledRuleSet EMPTY = compile(List.of());
+
+	private final List<RecommendationRule> rules;
+
+	private final int[] antecedentSizes;
+
+	private final Map<String, int[]> postings;
+
+	private CompiledRuleSet(List<RecommendationRule> rules, int[] antecedentSizes, Map<String, int[]> postings) {
+		this.rules = rules;
+		this.antecedentSizes = antecedentSizes;
+		this.postings = postings;
+	}
+
+	public static CompiledRuleSet empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @param rules rules in order of precedence
+	 * @return the compiled rule set
+	 * @throws IllegalArgumentException if a rule has no antecedent or no consequent, or not one confidence per consequent
+	 */
+	public static CompiledRuleSet compile(List<RecommendationRule> rules) {
+		List<RecommendationRule> ruleList = List.copyOf(rules);
+		int[] antecedentSizes = new int[ruleList.size()];
+		Map<String, List<Integer>> postingLists = new HashMap<>();
+		for (int ruleId = 0; ruleId < ruleList.size(); ruleId++) {
+			RecommendationRule rule = ruleList.get(ruleId);
+			if (rule.antecedent() == null || rule.antecedent().isEmpty()
+					|| rule.consequents() == null || rule.consequents().isEmpty()) {
+				throw new IllegalArgumentException("Recommendation rule " + ruleId + " must have an antecedent and a consequent");
+			}
+			if (rule.confidences() != null && rule.confidences().size() != rule.consequents().size()) {
+				throw new IllegalArgumentException("Recommendation rule " + ruleId + " must have one confidence per consequent");
+			}
+			antecedentSizes[ruleId] = rule.antecedent().size();
+			for (String code : rule.antecedent()) {
+				postingLists.computeIfAbsent(code, key -> new ArrayList<>()).add(ruleId);
+			}
+		}
+		Map<String, int[]> postings = new HashMap<>(postingLists.size() * 2);
+		postingLists.forEach((code, ruleIds) -> postings.put(code, ruleIds.stream().mapToInt(Integer::intValue).toArray()));
+		return new CompiledRuleSet(ruleList, antecedentSizes, postings);
+	}
+
+	/**
+	 * @param currentItems item codes of the shopping list
+	 * @return the consequents of every matching rule, in rule order, without duplicates and
+	 *         without the items already in the list
+	 */
+	public List<String> match(Collection<String> currentItems) {
+		Set<String> currentSet = new HashSet<>(currentItems);
+		int[] matched = matchingRules(currentSet);
+
+		Set<String> suggestions = new LinkedHashSet<>();
+		for (int ruleId : matched) {
+			for (String suggestion : rules.get(ruleId).consequents()) {
+				if (!currentSet.contains(suggestion)) {
+					suggestions.add(suggestion);
+				}
+			}
+		}
+		return new ArrayList<>(suggestions);
+	}
+
+	/**
+	 * @param currentItems item codes of the shopping list
+	 * @param limit maximum number of suggestions
+	 * @return the consequents with the highest summed confidence of their matching rules, best first, ties in rule order
+	 */
+	public List<ScoredItem> matchTop(Collection<String> currentItems, int limit) {
+		Set<String> currentSet = new HashSet<>(currentItems);
+		int[] matched = matchingRules(currentSet);
+
+		Map<String, Double> scores = new LinkedHashMap<>();
+		for (int ruleId : matched) {
+			RecommendationRule rule = rules.get(ruleId);
+			for (int i = 0; i < rule.consequents().size(); i++) {
+				String suggestion = rule.consequents().get(i);
+				if (!currentSet.contains(suggestion)) {
+					scores.merge(suggestion, rule.confidence(i), Double::sum);
+				}
+			}
+		}
+		TopK top = new TopK(limit);
+		scores.forEach((code, score) -> top.offer(new ScoredItem(code, score)));
+		return top.result();
+	}
+
+	public int size() {
+		return rules.size();
+	}
+
+	public List<RecommendationRule> rules() {
+		return rules;
+	}
+
+	private int[] matchingRules(Set<String> currentSet) {
+		Map<Integer, Integer> hits = new HashMap<>();
+		int[] matched = new int[8];
+		int matchedCount = 0;
+		for (String code : currentSet) {
+			int[] ruleIds = postings.get(code);
+			if (ruleIds == null) {
+				continue;
+			}
+			for (int ruleId : ruleIds) {
+				int count = hits.merge(ruleId, 1, Integer::sum);
+				if (count == antecedentSizes[ruleId]) {
+					if (matchedCount == matched.length) {
+						matched = Arrays.copyOf(matched, matchedCount * 2);
+					}
+					matched[matchedCount++] = ruleId;
+				}
+			}
+		}
+		int[] result = Arrays.copyOf(matched, matchedCount);
+		Arrays.sort(result);
+		return result;
+	}
+}
@@ -0,0 +1,125 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.shoppinglist.mgmt.event.ItemsSavedEvent;
+import com.shoppinglist.mgmt.model.Item;
+import com.shoppinglist.mgmt.repository.ItemRepository;
+
+/**
+ * In-memory, case-folded prefix index over the names of active, non-deleted items.
+ *
+ * Entries are kept in a sorted concurrent map keyed by the lower-cased item name (plus the item code
+ * to keep duplicate names apart), so a prefix lookup is a single ordered range scan that stops after
+ * {@code limit} hits. Reads never block and never touch the database.
+ *
+ * The index is built once the application is ready and is kept up to date on every {@link ItemsSavedEvent}.
+ *
+ */
+@Component
+public class ItemPrefixIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(ItemPrefixIndex.class);
+
+	private static final char KEY_SEPARATOR = '\u0000';
+
+	private final ItemRepository itemRepository;
+
+	private final Object writeLock = new Object();
+
+	private volatile ConcurrentSkipListMap<String, Item> entries = new ConcurrentSkipListMap<>();
+
+	private volatile boolean ready;
+
+	/**
+	 * @param itemRepository
+	 */
+	public ItemPrefixIndex(ItemRepository itemRepository) {
+		this.itemRepository = itemRepository;
+	}
+
+	/**
+	 * Rebuilds the whole index from the active items in the DB and swaps it in.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		synchronized (writeLock) {
+			long start = System.currentTimeMillis();
+			ConcurrentSkipListMap<String, Item> fresh = new ConcurrentSkipListMap<>();
+			for (Item item : itemRepository.findAllActive()) {
+				put(fresh, item);
+			}
+			entries = fresh;
+			ready = true;
+			logger.info("Item prefix index built with {} entries in {} ms", fresh.size(), System.currentTimeMillis() - start);
+		}
+	}
+
+	/**
+	 * Adds newly saved items to the index. Inactive or deleted items are ignored.
+	 *
+	 * @param items
+	 */
+	public void addAll(Collection<Item> items) {
+		synchronized (writeLock) {
+			ConcurrentSkipListMap<String, Item> current = entries;
+			for (Item item : items) {
+				put(current, item);
+			}
+		}
+	}
+
+	@EventListener
+	public void onItemsSaved(ItemsSavedEvent event) {
+		addAll(event.items());
+	}
+
+	/**
+	 * @param prefix case-insensitive name prefix
+	 * @param limit maximum number of items to return
+	 * @return matching items ordered by name
+	 */
+	public List<Item> findByPrefix(String prefix, int limit) {
+		String normalizedPrefix = normalize(prefix);
+		List<Item> result = new ArrayList<>(Math.min(limit, 64));
+		for (Map.Entry<String, Item> entry : entries.tailMap(normalizedPrefix, true).entrySet()) {
+			if (result.size() >= limit || !entry.getKey().startsWith(normalizedPrefix)) {
+				break;
+			}
+			result.add(entry.getValue());
+		}
+		return result;
+	}
+
+	/**
+	 * @return true once the index has been built from the DB
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private static void put(ConcurrentSkipListMap<String, Item> target, Item item) {
+		if (item.isActive() && !item.isDeleted() && item.getItemName() != null) {
+			target.put(normalize(item.getItemName()) + KEY_SEPARATOR + item.getItemCode(), item);
+		}
+	}
+
+	private static String normalize(String value) {
+		return value.trim().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,273 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Recommendation engine backed by a local inference endpoint configured by {@code suggestion.llm.endpoint}.
+ *
+ * Concurrent requests are queued and a single dispatcher thread sends everything queued within
+ * {@code suggestion.llm.batch-window-ms} (at most {@code suggestion.llm.max-batch-size} lists) as one
+ * upstream call: {@code {"lists":[["itm1","itm2"],...]}}, answered with {@code {"suggestions":[["itm3"],...]}}
+ * in the same order.
+ *
+ * A request waits at most {@code suggestion.llm.timeout-ms} for its answer and otherwise falls back to the
+ * {@link BasicRuleRecommendationEngine}. Answers arriving later are still cached, keyed by the sorted item
+ * codes of the list, and identical lists in flight share one upstream query.
+ *
+ */
+@Component
+public class LlmRecommendationStrategy implements RecommendationStrategy {
+
+	private static final Logger logger = LoggerFactory.getLogger(LlmRecommendationStrategy.class);
+
+	private final BasicRuleRecommendationEngine fallbackEngine;
+
+	private final ObjectMapper objectMapper;
+
+	private final HttpClient httpClient;
+
+	private final URI endpoint;
+
+	private final long timeoutMillis;
+
+	private final Duration requestTimeout;
+
+	private final long batchWindowNanos;
+
+	private final int maxBatchSize;
+
+	private final Cache<List<String>, List<String>> cache;
+
+	private final BlockingQueue<PendingSuggestion> queue = new LinkedBlockingQueue<>();
+
+	private final Map<List<String>, CompletableFuture<List<String>>> inFlight = new ConcurrentHashMap<>();
+
+	private final Counter fallbackCounter;
+
+	private final DistributionSummary batchSizes;
+
+	private Thread dispatcher;
+
+	/**
+	 * @param fallbackEngine
+	 * @param objectMapper
+	 * @param meterRegistry
+	 * @param endpoint
+	 * @param timeoutMillis
+	 * @param requestTimeoutMillis
+	 * @param batchWindowMillis
+	 * @param maxBatchSize
+	 * @param cacheSize
+	 * @param cacheTtlMinutes
+	 */
+	public LlmRecommendationStrategy(BasicRuleRecommendationEngine fallbackEngine, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry,
+			@Value("${suggestion.llm.endpoint:http://localhost:8081/v1/suggestions}") String endpoint,
+			@Value("${suggestion.llm.timeout-ms:250}") long timeoutMillis,
+			@Value("${suggestion.llm.request-timeout-ms:2000}") long requestTimeoutMillis,
+			@Value("${suggestion.llm.batch-window-ms:5}") long batchWindowMillis,
+			@Value("${suggestion.llm.max-batch-size:32}") int maxBatchSize,
+			@Value("${suggestion.llm.cache-size:10000}") long cacheSize,
+			@Value("${suggestion.llm.cache-ttl-minutes:60}") long cacheTtlMinutes) {
+		this.fallbackEngine = fallbackEngine;
+		this.objectMapper = objectMapper;
+		this.endpoint = URI.create(endpoint);
+		this.timeoutMillis = timeoutMillis;
+		this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+		this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(batchWindowMillis);
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+		this.httpClient = HttpClient.newBuilder().connectTimeout(requestTimeout).build();
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(cacheSize)
+				.expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+				.build();
+		this.fallbackCounter = Counter.builder("recommendation.llm.fallbacks")
+				.description("Suggestions served by the fallback engine because the model did not answer in time")
+				.register(meterRegistry);
+		this.batchSizes = DistributionSummary.builder("recommendation.llm.batch.size")
+				.description("Number of shopping lists sent in one upstream inference call")
+				.register(meterRegistry);
+	}
+
+	@PostConstruct
+	public void start() {
+		dispatcher = new Thread(this::dispatch, "llm-suggestion-dispatcher");
+		dispatcher.setDaemon(true);
+		dispatcher.start();
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (dispatcher != null) {
+			dispatcher.interrupt();
+		}
+	}
+
+	@Override
+	public RecommendationStrategyType getType() {
+		return RecommendationStrategyType.LLM;
+	}
+
+	@Override
+	public List<String> suggest(List<String> currentItems) {
+		List<String> key = currentItems.stream().distinct().sorted().toList();
+		List<String> cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+		CompletableFuture<List<String>> future = inFlight.computeIfAbsent(key, this::enqueue);
+		try {
+			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return fallback(currentItems, e);
+		} catch (ExecutionException | TimeoutException e) {
+			return fallback(currentItems, e);
+		}
+	}
+
+	private List<String> fallback(List<String> currentItems, Exception cause) {
+		logger.warn("Falling back to the basic recommendation engine: {}", cause.toString());
+		fallbackCounter.increment();
+		return fallbackEngine.suggest(currentItems);
+	}
+
+	private CompletableFuture<List<String>> enqueue(List<String> key) {
+		CompletableFuture<List<String>> future = new CompletableFuture<>();
+		future.whenComplete((suggestions, error) -> {
+			if (error == null) {
+				cache.put(key, suggestions);
+			}
+			inFlight.remove(key, future);
+		});
+		queue.add(new PendingSuggestion(key, future));
+		return future;
+	}
+
+	private void dispatch() {
+		List<PendingSuggestion> batch = new ArrayList<>(maxBatchSize);
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				batch.add(queue.take());
+				long deadline = System.nanoTime() + batchWindowNanos;
+				while (batch.size() < maxBatchSize) {
+					PendingSuggestion next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				List<PendingSuggestion> sent = List.copyOf(batch);
+				batch.clear();
+				try {
+					send(sent);
+				} catch (RuntimeException e) {
+					logger.error("Could not send the suggestion batch to the inference endpoint", e);
+					sent.forEach(pending -> pending.future().completeExceptionally(e));
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		queue.drainTo(batch);
+		batch.forEach(pending -> pending.future().cancel(false));
+	}
+
+	private void send(List<PendingSuggestion> batch) {
+		batchSizes.record(batch.size());
+		byte[] body;
+		try {
+			body = objectMapper.writeValueAsBytes(new InferenceRequest(batch.stream().map(PendingSuggestion::items).toList()));
+		} catch (JsonProcessingException e) {
+			batch.forEach(pending -> pending.future().completeExceptionally(e));
+			return;
+		}
+		HttpRequest request = HttpRequest.newBuilder(endpoint)
+				.timeout(requestTimeout)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body))
+				.build();
+		httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+				.thenApply(response -> readSuggestions(response, batch.size()))
+				.whenComplete((suggestions, error) -> {
+					for (int i = 0; i < batch.size(); i++) {
+						PendingSuggestion pending = batch.get(i);
+						if (error != null) {
+							pending.future().completeExceptionally(error);
+							continue;
+						}
+						try {
+							pending.future().complete(withoutCurrentItems(suggestions.get(i), pending.items()));
+						} catch (RuntimeException e) {
+							pending.future().completeExceptionally(e);
+						}
+					}
+				});
+	}
+
+	private List<List<String>> readSuggestions(HttpResponse<byte[]> response, int expected) {
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Inference endpoint answered with status " + response.statusCode());
+		}
+		try {
+			InferenceResponse inference = objectMapper.readValue(response.body(), InferenceResponse.class);
+			if (inference.suggestions() == null || inference.suggestions().size() != expected) {
+				throw new IllegalStateException("Inference endpoint did not answer every shopping list");
+			}
+			return inference.suggestions();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static List<String> withoutCurrentItems(List<String> suggestions, List<String> currentItems) {
+		if (suggestions == null) {
+			return List.of();
+		}
+		Set<String> seen = new HashSet<>(currentItems);
+		return suggestions.stream().filter(seen::add).toList();
+	}
+
+	private record PendingSuggestion(List<String> items, CompletableFuture<List<String>> future) {
+	}
+
+	record InferenceRequest(List<List<String>> lists) {
+	}
+
+	record InferenceResponse(List<List<String>> suggestions) {
+	}
+}
@@ -1,25 +1,52 @@
 package com.shoppinglist.mgmt.suggestionengine;
 
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
+import com.shoppinglist.mgmt.constants.Constants;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Dispatches to the recommendation strategy of the request; every strategy is timed by
+ * {@code recommendation.strategy}, tagged with the strategy type.
+ */
 @Component
 public class RecommendationEngineContext {
 
 	private final Map<RecommendationStrategyType, RecommendationStrategy> recommendationEngines;
 
-	public RecommendationEngineContext(List<RecommendationStrategy> strategies) {
+	private final Map<RecommendationStrategyType, Timer> timers = new EnumMap<>(RecommendationStrategyType.class);
+
+	public RecommendationEngineContext(List<RecommendationStrategy> strategies, MeterRegistry meterRegistry) {
 		this.recommendationEngines = strategies.stream()
                 .collect(Collectors.toMap(RecommendationStrategy::getType, s -> s));
+		for (RecommendationStrategyType type : recommendationEngines.keySet()) {
+			timers.put(type, Timer.builder("recommendation.strategy")
+					.description("Time to compute the suggestions of a shopping list")
+					.tag("strategy", type.name())
+					.publishPercentileHistogram()
+					.register(meterRegistry));
+		}
     }
 
-    public List<String> recommend(List<String> currentItems, RecommendationStrategyType strategyKey) {
+    /**
+     * @param currentItems item codes of the shopping list
+     * @param strategyKey
+     * @param limit maximum number of suggestions
+     * @return at most limit suggestions of the strategy, best first
+     */
+    public List<ScoredItem> recommend(List<String> currentItems, RecommendationStrategyType strategyKey, int limit) {
         RecommendationStrategy strategy = recommendationEngines.get(strategyKey);
-        return strategy.suggest(currentItems);
+        if (strategy == null) {
+        	throw new IllegalArgumentException(Constants.UNSUPPORTED_RECOMMENDATION_STRATEGY);
+        }
+        return timers.get(strategyKey).record(() -> strategy.suggestTop(currentItems, limit));
     }
 	
 	
@@ -0,0 +1,27 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A recommendation rule: when a shopping list contains every item of the antecedent,
+ * the consequent items are suggested.
+ *
+ * @param antecedent  Item codes which must all be present in the shopping list.
+ * @param consequents Item codes suggested when the rule matches, in order of preference.
+ * @param confidences Confidence of the rule for each consequent, between 0 and 1, or null when the rule is
+ *                    declared rather than mined: every consequent then counts with confidence 1.
+ */
+public record RecommendationRule(Set<String> antecedent, List<String> consequents, List<Double> confidences) {
+
+	public RecommendationRule(Set<String> antecedent, List<String> consequents) {
+		this(antecedent, consequents, null);
+	}
+
+	/**
+	 * @return the confidence of the consequent at the given position
+	 */
+	public double confidence(int consequent) {
+		return confidences == null ? 1.0 : confidences.get(consequent);
+	}
+}
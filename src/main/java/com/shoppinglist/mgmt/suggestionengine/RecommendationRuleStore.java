@@ -0,0 +1,136 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Holds the recommendation rules used by the {@link BasicRuleRecommendationEngine}.
+ * <p>
+ * The rules are loaded from the JSON resource configured by {@code suggestion.rule.source}
+ * (a classpath or file location) and compiled into an immutable {@link RuleSnapshot}.
+ * When the source is a file, it is checked for changes on a background schedule; a new snapshot
+ * is built off the request path and swapped in atomically, so in-flight requests keep matching
+ * against the snapshot they started with. A source which cannot be loaded leaves the current
+ * snapshot in place.
+ * </p>
+ */
+@Component
+public class RecommendationRuleStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(RecommendationRuleStore.class);
+
+	private final Resource source;
+
+	private final ObjectMapper objectMapper;
+
+	private final AtomicReference<RuleSnapshot> snapshot = new AtomicReference<>();
+
+	/** Not a monitor: the reload reads the source, which would pin the carrier of a virtual thread. */
+	private final Lock reloadLock = new ReentrantLock();
+
+	private final Timer reloadTimer;
+
+	private volatile long sourceLastModified;
+
+	/**
+	 * @param source
+	 * @param objectMapper
+	 * @param meterRegistry
+	 */
+	public RecommendationRuleStore(@Value("${suggestion.rule.source:classpath:rules/basic-rules.json}") Resource source,
+			ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		this.source = source;
+		this.objectMapper = objectMapper;
+		this.reloadTimer = Timer.builder("recommendation.rules.reload")
+				.description("Time taken to load and compile the recommendation rules")
+				.register(meterRegistry);
+		Gauge.builder("recommendation.rules.version", snapshot, ref -> ref.get() == null ? 0 : ref.get().version())
+				.description("Version of the recommendation rules in use")
+				.register(meterRegistry);
+		Gauge.builder("recommendation.rules.size", snapshot, ref -> ref.get() == null ? 0 : ref.get().rules().size())
+				.description("Number of recommendation rules in use")
+				.register(meterRegistry);
+		if (!reload()) {
+			throw new IllegalStateException("Recommendation rules could not be loaded from " + source);
+		}
+	}
+
+	/**
+	 * @return the rules currently in use
+	 */
+	public RuleSnapshot current() {
+		return snapshot.get();
+	}
+
+	/**
+	 * Reloads the rules when the source file has changed since the last load.
+	 */
+	@Scheduled(fixedDelayString = "${suggestion.rule.reload-interval-ms:30000}", initialDelayString = "${suggestion.rule.reload-interval-ms:30000}")
+	public void reloadIfModified() {
+		if (!source.isFile()) {
+			return;
+		}
+		try {
+			if (source.lastModified() != sourceLastModified) {
+				reload();
+			}
+		} catch (IOException e) {
+			logger.error("Unable to check the recommendation rules source {}: {}", source, e.getMessage());
+		}
+	}
+
+	/**
+	 * Loads and compiles the rules, then swaps them in.
+	 *
+	 * @return true if the new rules are in use
+	 */
+	public boolean reload() {
+		reloadLock.lock();
+		long start = System.nanoTime();
+		try {
+			long lastModified = source.isFile() ? source.lastModified() : 0L;
+			CompiledRuleSet rules = CompiledRuleSet.compile(readRules());
+			RuleSnapshot previous = snapshot.get();
+			RuleSnapshot next = new RuleSnapshot(previous == null ? 1 : previous.version() + 1, rules, Instant.now());
+			snapshot.set(next);
+			sourceLastModified = lastModified;
+			logger.info("Loaded {} recommendation rules, version {}", rules.size(), next.version());
+			return true;
+		} catch (IOException | RuntimeException e) {
+			logger.error("Unable to load the recommendation rules from {}: {}", source, e.getMessage());
+			return false;
+		} finally {
+			reloadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			reloadLock.unlock();
+		}
+	}
+
+	private List<RecommendationRule> readRules() throws IOException {
+		try (InputStream in = source.getInputStream()) {
+			RuleFile ruleFile = objectMapper.readValue(in, RuleFile.class);
+			return ruleFile.rules() == null ? List.of() : ruleFile.rules();
+		}
+	}
+
+	record RuleFile(List<RecommendationRule> rules) {
+	}
+}
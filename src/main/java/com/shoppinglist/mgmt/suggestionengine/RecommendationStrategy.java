@@ -1,9 +1,27 @@
 package com.shoppinglist.mgmt.suggestionengine;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public interface RecommendationStrategy {
 
 	RecommendationStrategyType getType();
 	public List<String> suggest(List<String> currentItems);
+
+	/**
+	 * Strategies which can score their suggestions override this to rank them and keep only the
+	 * best ones. By default the suggestions are scored by their position.
+	 *
+	 * @param currentItems item codes of the shopping list
+	 * @param limit maximum number of suggestions
+	 * @return at most limit suggestions, best first
+	 */
+	default List<ScoredItem> suggestTop(List<String> currentItems, int limit) {
+		List<String> suggestions = suggest(currentItems);
+		List<ScoredItem> top = new ArrayList<>(Math.max(0, Math.min(limit, suggestions.size())));
+		for (int i = 0; i < suggestions.size() && i < limit; i++) {
+			top.add(new ScoredItem(suggestions.get(i), suggestions.size() - i));
+		}
+		return top;
+	}
 }
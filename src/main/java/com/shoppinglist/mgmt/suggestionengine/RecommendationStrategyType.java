@@ -2,5 +2,5 @@ package com.shoppinglist.mgmt.suggestionengine;
 
 public enum RecommendationStrategyType {
 
-	BASIC, RULE_BASED, LLM
+	BASIC, RULE_BASED, LLM, CO_OCCURRENCE
 }
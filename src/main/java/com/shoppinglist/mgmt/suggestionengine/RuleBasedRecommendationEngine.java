@@ -0,0 +1,137 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.shoppinglist.mgmt.repository.ShoppingListRepository;
+
+/**
+ * Recommendation engine which suggests items from association rules mined over the stored shopping lists.
+ * 
+ * A background job feeds the shopping lists created since its last run to an {@link AssociationRuleMiner},
+ * in batches of {@code suggestion.mining.batch-size}, and swaps in a freshly compiled {@link CompiledRuleSet}.
+ * The counts of a list cannot be taken back, so when a list mined before was updated since the last run
+ * ({@code updatedAt}) the counts are rebuilt from scratch, as they are every
+ * {@code suggestion.mining.full-rebuild-every} runs. At most {@code suggestion.mining.max-pairs} item pairs
+ * are counted. Requests only match against the compiled rules in memory, a suggestion ranks by the summed
+ * confidence of the rules proposing it.
+ *
+ */
+@Component
+public class RuleBasedRecommendationEngine implements RecommendationStrategy {
+
+	private static final Logger logger = LoggerFactory.getLogger(RuleBasedRecommendationEngine.class);
+
+	private final ShoppingListRepository shoppingListRepository;
+
+	private final AssociationRuleMiner miner;
+
+	/** Not a monitor: the mining reads the DB, which would pin the carrier of a virtual thread. */
+	private final Lock miningLock = new ReentrantLock();
+
+	private final int minSupport;
+
+	private final double minConfidence;
+
+	private final int maxConsequents;
+
+	private final int batchSize;
+
+	private final int fullRebuildEvery;
+
+	private volatile CompiledRuleSet rules = CompiledRuleSet.empty();
+
+	private long lastMinedListId;
+
+	private Instant lastRunStartedAt;
+
+	private long runs;
+
+	/**
+	 * @param shoppingListRepository
+	 * @param minSupport
+	 * @param minConfidence
+	 * @param maxConsequents
+	 * @param batchSize
+	 * @param fullRebuildEvery
+	 * @param maxPairs
+	 */
+	public RuleBasedRecommendationEngine(ShoppingListRepository shoppingListRepository,
+			@Value("${suggestion.mining.min-support:2}") int minSupport,
+			@Value("${suggestion.mining.min-confidence:0.2}") double minConfidence,
+			@Value("${suggestion.mining.max-consequents:5}") int maxConsequents,
+			@Value("${suggestion.mining.batch-size:500}") int batchSize,
+			@Value("${suggestion.mining.full-rebuild-every:60}") int fullRebuildEvery,
+			@Value("${suggestion.mining.max-pairs:1000000}") long maxPairs) {
+		this.shoppingListRepository = shoppingListRepository;
+		this.miner = new AssociationRuleMiner(maxPairs);
+		this.minSupport = minSupport;
+		this.minConfidence = minConfidence;
+		this.maxConsequents = maxConsequents;
+		this.batchSize = batchSize;
+		this.fullRebuildEvery = Math.max(1, fullRebuildEvery);
+	}
+
+	@Override
+	public RecommendationStrategyType getType() {
+		return RecommendationStrategyType.RULE_BASED;
+	}
+
+	@Override
+	public List<String> suggest(List<String> currentItems) {
+		return rules.match(currentItems);
+	}
+
+	@Override
+	public List<ScoredItem> suggestTop(List<String> currentItems, int limit) {
+		return rules.matchTop(currentItems, limit);
+	}
+
+	/**
+	 * Mines the shopping lists stored since the last run, or all of them when a mined list was updated,
+	 * and swaps in the new rules.
+	 */
+	@Scheduled(fixedDelayString = "${suggestion.mining.interval-ms:60000}")
+	public void mine() {
+		miningLock.lock();
+		try {
+			long start = System.currentTimeMillis();
+			Instant runStartedAt = Instant.now();
+			boolean fullRebuild = runs++ % fullRebuildEvery == 0 || minedListsUpdated();
+			if (fullRebuild) {
+				miner.reset();
+				lastMinedListId = 0;
+			}
+			long minedBefore = miner.transactionCount();
+			lastMinedListId = ShoppingListTransactions.scan(shoppingListRepository, lastMinedListId, batchSize,
+					miner::addTransaction);
+			long mined = miner.transactionCount() - minedBefore;
+			lastRunStartedAt = runStartedAt;
+
+			if (mined > 0 || fullRebuild) {
+				rules = CompiledRuleSet.compile(miner.mine(minSupport, minConfidence, maxConsequents));
+				logger.info("Mined {} {} shopping lists ({} in total, {} pairs) into {} rules in {} ms", mined,
+						fullRebuild ? "stored" : "new", miner.transactionCount(), miner.pairCount(), rules.size(),
+						System.currentTimeMillis() - start);
+			}
+		} finally {
+			miningLock.unlock();
+		}
+	}
+
+	/**
+	 * Lists changed during the previous run may have been read before the change, they count as updated.
+	 */
+	private boolean minedListsUpdated() {
+		return lastRunStartedAt != null && lastMinedListId > 0
+				&& shoppingListRepository.existsUpdatedSince(lastMinedListId, lastRunStartedAt);
+	}
+}
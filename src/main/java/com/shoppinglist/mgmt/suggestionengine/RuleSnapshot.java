@@ -0,0 +1,13 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.time.Instant;
+
+/**
+ * Immutable snapshot of the recommendation rules currently in use.
+ *
+ * @param version  Incremented on every successful reload, starting at 1.
+ * @param rules    The compiled rules.
+ * @param loadedAt When the rules were loaded.
+ */
+public record RuleSnapshot(long version, CompiledRuleSet rules, Instant loadedAt) {
+}
@@ -0,0 +1,10 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+/**
+ * An item suggested by a {@link RecommendationStrategy} with its score, a higher score ranks first.
+ *
+ * @param itemCode The code of the suggested item.
+ * @param score The relevance of the suggestion, only comparable within one strategy.
+ */
+public record ScoredItem(String itemCode, double score) {
+}
@@ -0,0 +1,46 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.PageRequest;
+
+import com.shoppinglist.mgmt.repository.ShoppingListItemCodeView;
+import com.shoppinglist.mgmt.repository.ShoppingListRepository;
+
+/**
+ * Reads the item codes of the stored shopping lists in id order and in batches, without loading entities.
+ */
+final class ShoppingListTransactions {
+
+	private ShoppingListTransactions() {
+	}
+
+	/**
+	 * @param shoppingListRepository
+	 * @param afterId only the lists with a greater id are read
+	 * @param batchSize number of lists read per query
+	 * @param consumer receives the item codes of every list
+	 * @return id of the last list read, afterId if there was none
+	 */
+	static long scan(ShoppingListRepository shoppingListRepository, long afterId, int batchSize,
+			Consumer<List<String>> consumer) {
+		long lastId = afterId;
+		List<Long> listIds;
+		do {
+			listIds = shoppingListRepository.findActiveIdsAfter(lastId, PageRequest.ofSize(batchSize));
+			if (!listIds.isEmpty()) {
+				Map<Long, List<String>> itemCodesByList = new LinkedHashMap<>();
+				for (ShoppingListItemCodeView row : shoppingListRepository.findItemCodesByListIds(listIds)) {
+					itemCodesByList.computeIfAbsent(row.getListId(), id -> new ArrayList<>()).add(row.getItemCode());
+				}
+				itemCodesByList.values().forEach(consumer);
+				lastId = listIds.get(listIds.size() - 1);
+			}
+		} while (listIds.size() == batchSize);
+		return lastId;
+	}
+}
@@ -0,0 +1,67 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k best {@link ScoredItem}s offered to it in a bounded min-heap, so selecting among n
+ * candidates costs O(n log k) time and O(k) memory. Items with the same score keep the order in
+ * which they were offered.
+ */
+public final class TopK {
+
+	private static final Comparator<Entry> WORST_FIRST = Comparator.comparingDouble((Entry entry) -> entry.item().score())
+			.thenComparing(Comparator.comparingLong(Entry::sequence).reversed());
+
+	private final int k;
+
+	private final PriorityQueue<Entry> heap;
+
+	private long sequence;
+
+	/**
+	 * @param k maximum number of items kept
+	 */
+	public TopK(int k) {
+		this.k = k;
+		this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), WORST_FIRST);
+	}
+
+	/**
+	 * @param items candidates in order of precedence
+	 * @param k maximum number of items returned
+	 * @return the k best items, best first
+	 */
+	public static List<ScoredItem> select(Iterable<ScoredItem> items, int k) {
+		TopK top = new TopK(k);
+		items.forEach(top::offer);
+		return top.result();
+	}
+
+	public void offer(ScoredItem item) {
+		if (k <= 0) {
+			return;
+		}
+		Entry entry = new Entry(item, sequence++);
+		if (heap.size() < k) {
+			heap.add(entry);
+		} else if (WORST_FIRST.compare(entry, heap.peek()) > 0) {
+			heap.poll();
+			heap.add(entry);
+		}
+	}
+
+	/**
+	 * @return the items kept, best first
+	 */
+	public List<ScoredItem> result() {
+		List<Entry> entries = new ArrayList<>(heap);
+		entries.sort(WORST_FIRST.reversed());
+		return entries.stream().map(Entry::item).toList();
+	}
+
+	private record Entry(ScoredItem item, long sequence) {
+	}
+}
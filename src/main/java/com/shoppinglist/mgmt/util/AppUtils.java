@@ -1,6 +1,5 @@
 package com.shoppinglist.mgmt.util;
 
-import java.time.Instant;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
@@ -12,10 +11,21 @@ import com.shoppinglist.mgmt.dto.ShoppingListResponseDto;
 import com.shoppinglist.mgmt.model.Item;
 import com.shoppinglist.mgmt.model.ShoppingList;
 import com.shoppinglist.mgmt.model.ShoppingListItem;
+import com.shoppinglist.mgmt.repository.ShoppingListItemRow;
 
 @Component
 public class AppUtils {
 
+	private static final String ITEM_CODE_PREFIX = "item";
+
+	private static final String SHOPPING_LIST_CODE_PREFIX = "shplst";
+
+	private final CodeGenerator codeGenerator;
+
+	public AppUtils(CodeGenerator codeGenerator) {
+		this.codeGenerator = codeGenerator;
+	}
+
 	public List<Item> dtoToEntity(List<ItemRequestDto> itemsFromRequest){
 		
 		return itemsFromRequest.stream().map(this::toEntity).toList();
@@ -34,7 +44,7 @@ public class AppUtils {
 	}
 	
 	private String itemCode() {
-		return "item"+Instant.now().toEpochMilli();
+		return codeGenerator.nextCode(ITEM_CODE_PREFIX);
 	}
 	
 	public List<ItemResponseDto> entityToDtoItem(List<Item> dbItems){
@@ -48,13 +58,14 @@ public class AppUtils {
 				.itemCode(item.getItemCode())
 				.deleted(item.isDeleted())
 				.bought(item.isBought())
-				.active(item.isActive()).build();
+				.active(item.isActive())
+				.version(item.getVersion()).build();
 				
 				
 	}
 	
 	public String generateShopListCode() {
-		return "shplst"+Instant.now().toEpochMilli();
+		return codeGenerator.nextCode(SHOPPING_LIST_CODE_PREFIX);
 	}
 	
 	public ShoppingListResponseDto entityToDtoShoppinglist(ShoppingList entity) {
@@ -63,6 +74,23 @@ public class AppUtils {
 				.code(entity.getCode())
 				.deleted(entity.isDeleted())
 				.items(entity.getItems().stream().map(this::shoplistItemEntityToDto).toList())
+				.version(entity.getVersion())
+				.build();
+	}
+	
+	/**
+	 * @param rows rows of one shopping list, at least one
+	 * @return the shopping list of the rows
+	 */
+	public ShoppingListResponseDto rowsToDtoShoppinglist(List<ShoppingListItemRow> rows) {
+		ShoppingListItemRow first = rows.get(0);
+		return new ShoppingListResponseDto.Builder()
+				.name(first.name())
+				.code(first.code())
+				.deleted(first.deleted())
+				.version(first.version())
+				.items(rows.stream().filter(row -> row.itemCode() != null)
+						.map(row -> new ShopListItemDto(row.itemCode(), row.itemQuantity())).toList())
 				.build();
 	}
 	
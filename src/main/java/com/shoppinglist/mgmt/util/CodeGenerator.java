@@ -0,0 +1,109 @@
+package com.shoppinglist.mgmt.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lock-free generator of unique, monotonic 64 bit ids, Snowflake style:
+ * - 41 bits of milliseconds since 2024-01-01 (about 69 years)
+ * - 10 bits of node id, so up to 1024 instances mint ids without coordinating
+ * - 12 bits of sequence within the millisecond
+ *
+ * The last issued (timestamp, sequence) pair is kept in one {@link AtomicLong} and advanced with a CAS.
+ * Ids only use milliseconds the clock has reached: when the sequence of a millisecond is exhausted the
+ * generator spins until the next one. If the clock goes backwards, ids keep using the last millisecond
+ * until its sequence is exhausted, then wait for the clock to catch up, or fail if it is more than
+ * {@value #MAX_CLOCK_BACKWARD_MILLIS} ms behind.
+ *
+ * The node id is required: two instances with the same node id would issue the same ids.
+ *
+ * Codes are the id in fixed width Crockford base32 (13 characters) after a prefix, so they also sort
+ * in the order they were generated.
+ */
+@Component
+public class CodeGenerator {
+
+	static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+	static final int NODE_BITS = 10;
+
+	static final int SEQUENCE_BITS = 12;
+
+	static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	static final long MAX_CLOCK_BACKWARD_MILLIS = 1_000;
+
+	private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+	private static final int CODE_LENGTH = 13;
+
+	private final long nodeId;
+
+	private final LongSupplier clock;
+
+	/** Last issued timestamp (since the epoch) shifted left by SEQUENCE_BITS, or'ed with its sequence. */
+	private final AtomicLong lastState = new AtomicLong();
+
+	/**
+	 * @param nodeId id of this instance between 0 and 1023, unique among the instances sharing the data
+	 */
+	@Autowired
+	public CodeGenerator(@Value("${app.code-generator.node-id}") int nodeId) {
+		this(nodeId, System::currentTimeMillis);
+	}
+
+	CodeGenerator(int nodeId, LongSupplier clock) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+		}
+		this.nodeId = nodeId;
+		this.clock = clock;
+	}
+
+	/**
+	 * @return a new unique id, greater than all the ids issued before by this generator
+	 */
+	public long nextId() {
+		while (true) {
+			long now = clock.getAsLong() - EPOCH_MILLIS;
+			long previous = lastState.get();
+			long previousMillis = previous >>> SEQUENCE_BITS;
+			long next;
+			if (now > previousMillis) {
+				next = now << SEQUENCE_BITS;
+			} else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+				next = previous + 1;
+			} else if (previousMillis - now > MAX_CLOCK_BACKWARD_MILLIS) {
+				throw new IllegalStateException("Clock moved backwards by " + (previousMillis - now) + " ms");
+			} else {
+				Thread.onSpinWait();
+				continue;
+			}
+			if (lastState.compareAndSet(previous, next)) {
+				long timestamp = next >>> SEQUENCE_BITS;
+				return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+			}
+		}
+	}
+
+	/**
+	 * @param prefix
+	 * @return the prefix followed by a new unique id
+	 */
+	public String nextCode(String prefix) {
+		long id = nextId();
+		char[] code = new char[prefix.length() + CODE_LENGTH];
+		prefix.getChars(0, prefix.length(), code, 0);
+		for (int i = code.length - 1; i >= prefix.length(); i--) {
+			code[i] = ALPHABET[(int) (id & 31)];
+			id >>>= 5;
+		}
+		return new String(code);
+	}
+}
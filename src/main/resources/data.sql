@@ -1,14 +1,14 @@
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Yogurt',1.59,'item124545',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Tomato Sauce',2.59,'item124546',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Cheese',1.99,'item124547',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Red Wine',3.59,'item124548',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Salad dressing',2.09,'item124549',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Milk',1.09,'item1245460',false,true,false);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Yogurt','yogurt',1.59,'item124545',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Tomato Sauce','tomato sauce',2.59,'item124546',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Cheese','cheese',1.99,'item124547',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Red Wine','red wine',3.59,'item124548',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Salad dressing','salad dressing',2.09,'item124549',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Milk','milk',1.09,'item1245460',false,true,false,0);
 
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Pasta',2.09,'item1245461',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Bread',0.99,'item1245462',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Butter',1.69,'item1245463',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('BreadCrumbs',0.99,'item1245464',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Ice-cream',2.50,'item1245465',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Rice',1.50,'item1245466',false,true,false);
-INSERT INTO "ITEM" (item_name, item_price, item_code, deleted, active, bought) VALUES ('Cola',.65,'item1245467',false,true,false);
\ No newline at end of file
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Pasta','pasta',2.09,'item1245461',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Bread','bread',0.99,'item1245462',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Butter','butter',1.69,'item1245463',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'BreadCrumbs','breadcrumbs',0.99,'item1245464',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Ice-cream','ice-cream',2.50,'item1245465',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Rice','rice',1.50,'item1245466',false,true,false,0);
+INSERT INTO "ITEM" (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (NEXT VALUE FOR item_seq, 'Cola','cola',.65,'item1245467',false,true,false,0);
\ No newline at end of file
@@ -0,0 +1,50 @@
+-- Schema of the Item, ShoppingList and ShoppingListItem entities, checked by Hibernate with ddl-auto=validate.
+-- Ids come from pooled sequences: the increment must match the allocationSize(50) of the mappings.
+-- Sequences start after the ids of the seed data of V2.
+
+CREATE SEQUENCE item_seq START WITH 1001 INCREMENT BY 50;
+CREATE SEQUENCE shopping_list_seq START WITH 1001 INCREMENT BY 50;
+CREATE SEQUENCE shopping_list_item_seq START WITH 1001 INCREMENT BY 50;
+
+CREATE TABLE item (
+    item_id         BIGINT NOT NULL,
+    item_name       VARCHAR(255) NOT NULL,
+    item_name_lower VARCHAR(255),
+    item_price      FLOAT(53) NOT NULL,
+    item_code       VARCHAR(255),
+    deleted         BOOLEAN NOT NULL,
+    active          BOOLEAN NOT NULL,
+    bought          BOOLEAN NOT NULL,
+    version         BIGINT,
+    CONSTRAINT pk_item PRIMARY KEY (item_id),
+    CONSTRAINT uk_item_code UNIQUE (item_code)
+);
+
+CREATE INDEX idx_item_active_name ON item (active, deleted, item_name_lower);
+
+CREATE TABLE shopping_list (
+    id         BIGINT NOT NULL,
+    name       VARCHAR(255),
+    code       VARCHAR(255),
+    deleted    BOOLEAN DEFAULT FALSE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    version    BIGINT,
+    CONSTRAINT pk_shopping_list PRIMARY KEY (id),
+    CONSTRAINT uk_shopping_list_code UNIQUE (code)
+);
+
+CREATE INDEX idx_shopping_list_code_deleted ON shopping_list (code, deleted);
+CREATE INDEX idx_shopping_list_deleted_id ON shopping_list (deleted, id);
+
+CREATE TABLE shopping_list_item (
+    id                 BIGINT NOT NULL,
+    item_code          VARCHAR(255),
+    item_quantity      INTEGER NOT NULL,
+    changed_in_version BIGINT,
+    shopping_list_id   BIGINT,
+    CONSTRAINT pk_shopping_list_item PRIMARY KEY (id),
+    CONSTRAINT fk_shopping_list_item_list FOREIGN KEY (shopping_list_id) REFERENCES shopping_list (id)
+);
+
+-- items of a list are loaded and deleted by list, PostgreSQL does not index foreign keys by itself
+CREATE INDEX idx_shopping_list_item_list ON shopping_list_item (shopping_list_id);
@@ -0,0 +1,14 @@
+-- Seed items of data.sql, with fixed ids below the start of item_seq.
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (1, 'Yogurt','yogurt',1.59,'item124545',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (2, 'Tomato Sauce','tomato sauce',2.59,'item124546',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (3, 'Cheese','cheese',1.99,'item124547',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (4, 'Red Wine','red wine',3.59,'item124548',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (5, 'Salad dressing','salad dressing',2.09,'item124549',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (6, 'Milk','milk',1.09,'item1245460',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (7, 'Pasta','pasta',2.09,'item1245461',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (8, 'Bread','bread',0.99,'item1245462',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (9, 'Butter','butter',1.69,'item1245463',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (10, 'BreadCrumbs','breadcrumbs',0.99,'item1245464',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (11, 'Ice-cream','ice-cream',2.50,'item1245465',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (12, 'Rice','rice',1.50,'item1245466',false,true,false,0);
+INSERT INTO item (item_id, item_name, item_name_lower, item_price, item_code, deleted, active, bought, version) VALUES (13, 'Cola','cola',.65,'item1245467',false,true,false,0);
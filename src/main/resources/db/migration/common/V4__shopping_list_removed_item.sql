@@ -0,0 +1,10 @@
+-- Items removed from a shopping list and the version of the list which removed them(ShoppingList.removedItems),
+-- a stale patch on one of them is rejected instead of being lost or adding the item back.
+
+CREATE TABLE shopping_list_removed_item (
+    shopping_list_id   BIGINT NOT NULL,
+    item_code          VARCHAR(255) NOT NULL,
+    removed_in_version BIGINT,
+    CONSTRAINT pk_shopping_list_removed_item PRIMARY KEY (shopping_list_id, item_code),
+    CONSTRAINT fk_shopping_list_removed_item_list FOREIGN KEY (shopping_list_id) REFERENCES shopping_list (id)
+);
@@ -0,0 +1,3 @@
+-- H2 counterpart of postgresql/V3, so both databases have the same version history: H2 has no partial or
+-- varchar_pattern_ops indexes, and it compares characters, so a plain index serves LIKE 'prefix%'.
+CREATE INDEX idx_item_name_prefix ON item (item_name_lower);
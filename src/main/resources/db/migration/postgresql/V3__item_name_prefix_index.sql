@@ -0,0 +1,4 @@
+-- Unless the database collation is C, a btree index on item_name_lower cannot serve LIKE 'prefix%':
+-- varchar_pattern_ops compares characters, so the autocomplete search becomes an index range scan.
+-- The index only holds the searchable items, its entries are ordered as the ORDER BY of the query.
+CREATE INDEX idx_item_name_prefix ON item (item_name_lower varchar_pattern_ops) WHERE active AND NOT deleted;
@@ -0,0 +1,94 @@
+package com.shoppinglist.mgmt.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.shoppinglist.mgmt.event.ItemsSavedEvent;
+import com.shoppinglist.mgmt.model.Item;
+import com.shoppinglist.mgmt.repository.ItemRepository;
+
+class ItemCatalogCacheTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemCatalogCache itemCatalogCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        itemCatalogCache = new ItemCatalogCache(new ConcurrentMapCacheManager(ItemCatalogCache.CACHE_NAME), itemRepository);
+    }
+
+    @Test
+    void testFindByCode_LoadsOnceThenServesFromCache() {
+        Item milk = createItemEntity("Milk", "itm1", 1.09);
+        when(itemRepository.findByCode("itm1")).thenReturn(Optional.of(milk));
+
+        assertThat(itemCatalogCache.findByCode("itm1")).contains(milk);
+        assertThat(itemCatalogCache.findByCode("itm1")).contains(milk);
+
+        verify(itemRepository, times(1)).findByCode("itm1");
+    }
+
+    @Test
+    void testFindByCode_UnknownCodeIsNotCached() {
+        when(itemRepository.findByCode("UNKNOWN")).thenReturn(Optional.empty());
+
+        assertThat(itemCatalogCache.findByCode("UNKNOWN")).isEmpty();
+        assertThat(itemCatalogCache.findByCode("UNKNOWN")).isEmpty();
+
+        verify(itemRepository, times(2)).findByCode("UNKNOWN");
+    }
+
+    @Test
+    void testFindByCodes_LoadsOnlyMissingCodesInOneQuery() {
+        Item milk = createItemEntity("Milk", "itm1", 1.09);
+        Item bread = createItemEntity("Bread", "itm2", 0.99);
+        when(itemRepository.findByCode("itm1")).thenReturn(Optional.of(milk));
+        when(itemRepository.findActiveByItemCodeIn(List.of("itm2", "itm3"))).thenReturn(List.of(bread));
+        itemCatalogCache.findByCode("itm1");
+
+        assertThat(itemCatalogCache.findByCodes(List.of("itm2", "itm1", "itm3")))
+                .containsExactly(Map.entry("itm2", bread), Map.entry("itm1", milk));
+        assertThat(itemCatalogCache.findByCodes(List.of("itm1", "itm2"))).containsKeys("itm1", "itm2");
+
+        verify(itemRepository, times(1)).findActiveByItemCodeIn(List.of("itm2", "itm3"));
+        verify(itemRepository, never()).findActiveByItemCodeIn(List.of("itm1", "itm2"));
+    }
+
+    @Test
+    void testOnItemsSaved_EvictsSavedCodes() {
+        Item milk = createItemEntity("Milk", "itm1", 1.09);
+        when(itemRepository.findByCode("itm1")).thenReturn(Optional.of(milk));
+        itemCatalogCache.findByCode("itm1");
+
+        itemCatalogCache.onItemsSaved(new ItemsSavedEvent(List.of(milk)));
+        itemCatalogCache.findByCode("itm1");
+
+        verify(itemRepository, times(2)).findByCode("itm1");
+    }
+
+    Item createItemEntity(String name, String code,Double price) {
+    	return Item.builder()
+    			.itemCode(code)
+    			.itemName(name)
+    			.itemPrice(price)
+    			.active(true)
+    			.deleted(false)
+    			.bought(false).build();
+    }
+}
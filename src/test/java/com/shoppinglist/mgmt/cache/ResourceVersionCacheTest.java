@@ -0,0 +1,41 @@
+package com.shoppinglist.mgmt.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.shoppinglist.mgmt.event.ItemsSavedEvent;
+import com.shoppinglist.mgmt.model.Item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResourceVersionCacheTest {
+
+    private final ResourceVersionCache versionCache = new ResourceVersionCache(new SimpleMeterRegistry(), 100, 60_000);
+
+    @Test
+    void testUpdate_AnOlderVersionNeverReplacesANewerOne() {
+        versionCache.update(ResourceVersionCache.SHOPPING_LIST, "shplst1", 3L);
+        versionCache.update(ResourceVersionCache.SHOPPING_LIST, "shplst1", 2L);
+
+        assertThat(versionCache.find(ResourceVersionCache.SHOPPING_LIST, "shplst1")).contains(3L);
+        assertThat(versionCache.find(ResourceVersionCache.ITEM, "shplst1")).isEmpty();
+    }
+
+    @Test
+    void testUpdateAfterCommit_WithoutTransactionUpdatesAtOnce() {
+        versionCache.updateAfterCommit(ResourceVersionCache.SHOPPING_LIST, "shplst1", 4L);
+
+        assertThat(versionCache.find(ResourceVersionCache.SHOPPING_LIST, "shplst1")).contains(4L);
+    }
+
+    @Test
+    void testOnItemsSaved_RecordsTheVersionOfTheNewItems() {
+        versionCache.onItemsSaved(new ItemsSavedEvent(List.of(Item.builder().itemCode("item1").version(0L).build())));
+
+        assertThat(versionCache.find(ResourceVersionCache.ITEM, "item1")).contains(0L);
+        assertThat(versionCache.find(ResourceVersionCache.ITEM, null)).isEmpty();
+    }
+}
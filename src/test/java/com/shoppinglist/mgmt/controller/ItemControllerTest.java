@@ -1,13 +1,25 @@
 package com.shoppinglist.mgmt.controller;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -16,10 +28,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppinglist.mgmt.constants.Constants;
+import com.shoppinglist.mgmt.dto.BulkImportResponse;
+import com.shoppinglist.mgmt.dto.ItemImportFormat;
+import com.shoppinglist.mgmt.dto.ItemPageResponse;
 import com.shoppinglist.mgmt.dto.ItemRequest;
 import com.shoppinglist.mgmt.dto.ItemRequestDto;
 import com.shoppinglist.mgmt.dto.ItemResponse;
@@ -27,6 +45,7 @@ import com.shoppinglist.mgmt.dto.ItemResponseDto;
 import com.shoppinglist.mgmt.model.Item;
 import com.shoppinglist.mgmt.security.JwtUtil;
 import com.shoppinglist.mgmt.security.config.TestSecurityConfig;
+import com.shoppinglist.mgmt.service.ItemBulkImportService;
 import com.shoppinglist.mgmt.service.ItemService;
 
 @WebMvcTest(ItemController.class)
@@ -39,6 +58,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemBulkImportService itemBulkImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
     
@@ -46,17 +68,53 @@ class ItemControllerTest {
     private JwtUtil jwtUtil;
     
     @Test
-    void getAllItems_ShouldReturn200WithItemList() throws Exception {
+    void getAllItems_ShouldReturn200WithItemPage() throws Exception {
         List<ItemResponseDto> items = List.of(createItemResponseDto("Milk", "itm112", 1.09));
-        ItemResponse response = new ItemResponse(items);
+        ItemPageResponse response = new ItemPageResponse(items, 42L);
+
+        when(itemService.findPage(10L, 1)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/items").param("after", "10").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].itemName").value("Milk"))
+                .andExpect(jsonPath("$.nextCursor").value(42));
 
-        when(itemService.findAll()).thenReturn(response);
+        verify(itemService).findPage(10L, 1);
+    }
+
+    @Test
+    void getAllItems_ShouldDefaultToTheFirstPage() throws Exception {
+        when(itemService.findPage(null, 100)).thenReturn(new ItemPageResponse(List.of(), null));
 
         mockMvc.perform(get("/api/v1/items"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.items[0].itemName").value("Milk"));
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(itemService).findPage(null, 100);
+    }
 
-        verify(itemService).findAll();
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAllItems_ShouldWriteOneItemPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ItemResponseDto> consumer = invocation.getArgument(0);
+            consumer.accept(createItemResponseDto("Milk", "itm112", 1.09));
+            consumer.accept(createItemResponseDto("Bread", "itm113", 0.99));
+            return null;
+        }).when(itemService).streamAll(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/items/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"itemCode\":\"itm112\"");
+        assertThat(lines.get(1)).contains("\"itemCode\":\"itm113\"");
     }
 
     @Test
@@ -74,6 +132,27 @@ class ItemControllerTest {
         verify(itemService).getItemByCode(code);
     }
 
+    @Test
+    void getItemByCode_ShouldReturn200WithVersionAsETag() throws Exception {
+        ItemResponseDto item = new ItemResponseDto("Milk", 1.09, "itm112", false, true, false, 2L);
+        when(itemService.getItemByCode("itm112")).thenReturn(new ItemResponse(List.of(item)));
+
+        mockMvc.perform(get("/api/v1/items/{code}", "itm112"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+    }
+
+    @Test
+    void getItemByCode_ShouldReturn304FromTheVersionCache() throws Exception {
+        when(itemService.findCachedVersion("itm112")).thenReturn(Optional.of(2L));
+
+        mockMvc.perform(get("/api/v1/items/{code}", "itm112").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).getItemByCode(any());
+    }
+
     // ===== POST /items =====
     @Test
     void createItem_ShouldReturn200WhenRequestIsValid() throws Exception {
@@ -104,6 +183,56 @@ class ItemControllerTest {
                 .andExpect(status().isBadRequest());
     }
     
+    // ===== POST /items/bulk =====
+    @Test
+    void importItems_ShouldReturn200WithImportSummary() throws Exception {
+        ItemRequest request = new ItemRequest(List.of(createItemRequestDto("Bread", 2.0), createItemRequestDto("Milk", 1.09)));
+
+        when(itemBulkImportService.importItems(request)).thenReturn(new BulkImportResponse(2, 0, 1, 4, 500.0, List.of()));
+
+        mockMvc.perform(post("/api/v1/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.itemsPerSecond").value(500.0));
+
+        verify(itemBulkImportService).importItems(request);
+    }
+
+    @Test
+    void importItems_ShouldReturn400WhenAnItemIsInvalid() throws Exception {
+        ItemRequest request = new ItemRequest(List.of(createItemRequestDto("Bread", 2.0), createItemRequestDto("", null)));
+
+        mockMvc.perform(post("/api/v1/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+    
+    // ===== POST /items/import =====
+    @Test
+    void importItems_ShouldStreamNdjsonAndCsvBodies() throws Exception {
+        BulkImportResponse response = new BulkImportResponse(1, 1, 1, 2, 500.0, List.of("line 2: " + Constants.INVALID_ITEM_PRICE));
+        when(itemBulkImportService.importStream(any(InputStream.class), eq(ItemImportFormat.NDJSON))).thenReturn(response);
+        when(itemBulkImportService.importStream(any(InputStream.class), eq(ItemImportFormat.CSV))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/items/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Bread\",\"price\":2.0}\n{\"name\":\"Milk\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0]").value("line 2: " + Constants.INVALID_ITEM_PRICE));
+        mockMvc.perform(post("/api/v1/items/import")
+                        .contentType(Constants.TEXT_CSV_VALUE)
+                        .content("name,price\nBread,2.0\nMilk,\n"))
+                .andExpect(status().isOk());
+
+        verify(itemBulkImportService).importStream(any(InputStream.class), eq(ItemImportFormat.NDJSON));
+        verify(itemBulkImportService).importStream(any(InputStream.class), eq(ItemImportFormat.CSV));
+    }
+
     ItemResponseDto createItemResponseDto(String name, String code,Double price) {
     	return new ItemResponseDto.Builder()
     			.itemCode(code)
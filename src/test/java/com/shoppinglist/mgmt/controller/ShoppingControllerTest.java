@@ -1,12 +1,15 @@
 package com.shoppinglist.mgmt.controller;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -14,15 +17,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppinglist.mgmt.constants.Constants;
 import com.shoppinglist.mgmt.dto.ShopListItemDto;
+import com.shoppinglist.mgmt.dto.ShopListItemOperation;
+import com.shoppinglist.mgmt.dto.ShopListItemPatchDto;
+import com.shoppinglist.mgmt.dto.ShoppingListPatchRequestDto;
 import com.shoppinglist.mgmt.dto.ShoppingListRequestDto;
 import com.shoppinglist.mgmt.dto.ShoppingListResponseDto;
 import com.shoppinglist.mgmt.dto.ShoppingListUpdateRequestDto;
+import com.shoppinglist.mgmt.exception.ConflictException;
 import com.shoppinglist.mgmt.model.Item;
 import com.shoppinglist.mgmt.security.JwtUtil;
 import com.shoppinglist.mgmt.security.config.TestSecurityConfig;
@@ -77,6 +86,29 @@ class ShoppingControllerTest {
                 .andExpect(jsonPath("$.code").value(code));
     }
 
+    @Test
+    void testGetShoppingList_NotModifiedFromTheVersionCache() throws Exception {
+        Mockito.when(shoppingListService.findCachedVersion("WEEK123")).thenReturn(Optional.of(5L));
+
+        mockMvc.perform(get("/api/v1/shoppinglist/{code}", "WEEK123").header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+
+        Mockito.verify(shoppingListService, Mockito.never()).findByCode(Mockito.any());
+    }
+
+    @Test
+    void testGetShoppingList_ChangedSinceTheETag() throws Exception {
+        ShoppingListResponseDto response = new ShoppingListResponseDto("Weekly Groceries", "WEEK123", false, List.of(), 6L);
+        Mockito.when(shoppingListService.findCachedVersion("WEEK123")).thenReturn(Optional.of(6L));
+        Mockito.when(shoppingListService.findByCode("WEEK123")).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/shoppinglist/{code}", "WEEK123").header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"6\""))
+                .andExpect(jsonPath("$.version").value(6));
+    }
+
     @Test
     void testUpdateShoppingList() throws Exception {
     	ShopListItemDto itemDto = createShopListItemDto("itm112", 3);
@@ -94,6 +126,61 @@ class ShoppingControllerTest {
                 .andExpect(jsonPath("$.code").value("WEEK123"));
     }
     
+    @Test
+    void testPatchShoppingList() throws Exception {
+        ShoppingListPatchRequestDto request = new ShoppingListPatchRequestDto("WEEK123",
+                List.of(new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm112", 2)));
+
+        ShoppingListResponseDto response = createShoppingListResponseDto("Weekly Groceries", "WEEK123");
+
+        Mockito.when(shoppingListService.patchShoppingList(Mockito.any())).thenReturn(response);
+
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("WEEK123"));
+    }
+
+    @Test
+    void testPatchShoppingList_Conflict() throws Exception {
+        ShoppingListPatchRequestDto request = new ShoppingListPatchRequestDto("WEEK123",
+                List.of(new ShopListItemPatchDto(ShopListItemOperation.UPDATE_QUANTITY, "itm112", 2)), 3L);
+        String message = String.format(Constants.SHOPLIST_VERSION_CONFLICT, 3L, 5L);
+
+        Mockito.when(shoppingListService.patchShoppingList(Mockito.any())).thenThrow(new ConflictException(message));
+
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value(Constants.CONFLICT))
+                .andExpect(jsonPath("$.messages[0]").value(message));
+    }
+
+    @Test
+    void testPatchShoppingList_InvalidRequest() throws Exception {
+        ShoppingListPatchRequestDto request = new ShoppingListPatchRequestDto("WEEK123",
+                List.of(new ShopListItemPatchDto(null, "itm112", 2)));
+
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testPatchShoppingList_NonPositiveQuantity() throws Exception {
+        ShoppingListPatchRequestDto request = new ShoppingListPatchRequestDto("WEEK123",
+                List.of(new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm112", -2)));
+
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(shoppingListService);
+    }
+    
     @Test
     void testInvalidRequest() throws JsonProcessingException, Exception {
     	ShopListItemDto itemDto = createShopListItemDto(null, 3);
@@ -1,9 +1,14 @@
 package com.shoppinglist.mgmt.integration;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -16,19 +21,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shoppinglist.mgmt.dto.ShopListItemDto;
+import com.shoppinglist.mgmt.dto.ShopListItemOperation;
+import com.shoppinglist.mgmt.dto.ShopListItemPatchDto;
+import com.shoppinglist.mgmt.dto.ShoppingListPatchRequestDto;
 import com.shoppinglist.mgmt.dto.ShoppingListRequestDto;
 import com.shoppinglist.mgmt.dto.ShoppingListResponseDto;
 import com.shoppinglist.mgmt.dto.ShoppingListUpdateRequestDto;
+import com.shoppinglist.mgmt.metrics.QueryCounter;
 import com.shoppinglist.mgmt.model.Item;
 import com.shoppinglist.mgmt.repository.ItemRepository;
 import com.shoppinglist.mgmt.repository.ShoppingListRepository;
 
-@SpringBootTest
+// own in-memory database: data.sql runs again for this context and would hit the seed rows of the other contexts
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:integrationdb")
 @AutoConfigureMockMvc(addFilters = false)
 class ShoppingControllerIntegrationTest {
 
@@ -92,11 +103,14 @@ class ShoppingControllerIntegrationTest {
 
         ShoppingListResponseDto created = objectMapper.readValue(responseJson, ShoppingListResponseDto.class);
 
-        // --- Step 3: Fetch by Code ---
+        // --- Step 3: Fetch by Code, the list and its items are read with one query ---
         mockMvc.perform(get("/api/v1/shoppinglist/" + created.code()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code", is(created.code())))
-                .andExpect(jsonPath("$.name", is("shoplist-1")));
+                .andExpect(jsonPath("$.name", is("shoplist-1")))
+                .andExpect(jsonPath("$.items[0].itemCode", is("itm121")))
+                .andExpect(jsonPath("$.items[0].itemQuantity", is(3)));
+        assertThat(QueryCounter.current()).isEqualTo(1);
     }
 
     @Test
@@ -127,6 +141,159 @@ class ShoppingControllerIntegrationTest {
                 .andExpect(jsonPath("$.items[0].itemQuantity", is(5)));
     }
     
+    @Test
+    @Order(3)
+    void testPatchShoppingList() throws Exception {
+        ShoppingListRequestDto createRequest = createShoppingListRequestDto("patchshoplist-1", createShopListItemDto("itm121", 3));
+
+        String responseJson = mockMvc.perform(post("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        ShoppingListResponseDto original = objectMapper.readValue(responseJson, ShoppingListResponseDto.class);
+
+        ShoppingListPatchRequestDto patchRequest = new ShoppingListPatchRequestDto(original.code(), List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm231", 2),
+                new ShopListItemPatchDto(ShopListItemOperation.UPDATE_QUANTITY, "itm121", 1)));
+
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", is(2)))
+                .andExpect(jsonPath("$.items[*].itemCode", containsInAnyOrder("itm121", "itm231")))
+                .andExpect(jsonPath("$.items[*].itemQuantity", containsInAnyOrder(1, 2)));
+    }
+    
+    @Test
+    void testConditionalFetchShoppingList() throws Exception {
+        ShoppingListRequestDto createRequest = createShoppingListRequestDto("etagshoplist-1", createShopListItemDto("itm121", 3));
+        String responseJson = mockMvc.perform(post("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        ShoppingListResponseDto original = objectMapper.readValue(responseJson, ShoppingListResponseDto.class);
+
+        String etag = mockMvc.perform(get("/api/v1/shoppinglist/" + original.code()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // unchanged: answered from the version cache, without any query
+        mockMvc.perform(get("/api/v1/shoppinglist/" + original.code()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(QueryCounter.current()).isZero();
+
+        // a quantity only change increments the version of the list too
+        ShoppingListPatchRequestDto patchRequest = new ShoppingListPatchRequestDto(original.code(), List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.UPDATE_QUANTITY, "itm121", 1)));
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patchRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/shoppinglist/" + original.code()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.items[0].itemQuantity", is(1)));
+    }
+
+    @Test
+    void testChangesBasedOnTheSameVersion() throws Exception {
+        ShoppingListRequestDto createRequest = createShoppingListRequestDto("sharedshoplist-1", createShopListItemDto("itm121", 3));
+        String responseJson = mockMvc.perform(post("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        ShoppingListResponseDto original = objectMapper.readValue(responseJson, ShoppingListResponseDto.class);
+        Long baseVersion = original.version();
+
+        // first device changes the quantity of itm121
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShoppingListPatchRequestDto(original.code(), List.of(
+                                new ShopListItemPatchDto(ShopListItemOperation.UPDATE_QUANTITY, "itm121", 1)), baseVersion))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(baseVersion.intValue() + 1)));
+
+        // second device adds another item: merged
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShoppingListPatchRequestDto(original.code(), List.of(
+                                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm231", 2)), baseVersion))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].itemCode", containsInAnyOrder("itm121", "itm231")))
+                .andExpect(jsonPath("$.items[*].itemQuantity", containsInAnyOrder(1, 2)));
+
+        // third device changes itm121 too: rejected
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShoppingListPatchRequestDto(original.code(), List.of(
+                                new ShopListItemPatchDto(ShopListItemOperation.UPDATE_QUANTITY, "itm121", 5)), baseVersion))))
+                .andExpect(status().isConflict());
+
+        // a full replacement based on an old version is rejected
+        mockMvc.perform(put("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShoppingListUpdateRequestDto(original.code(),
+                                List.of(createShopListItemDto("itm121", 4)), baseVersion))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testChangeOfAnItemRemovedSinceTheSameVersion() throws Exception {
+        ShoppingListRequestDto createRequest = new ShoppingListRequestDto("sharedshoplist-2",
+                List.of(createShopListItemDto("itm121", 3), createShopListItemDto("itm231", 1)));
+        String responseJson = mockMvc.perform(post("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        ShoppingListResponseDto original = objectMapper.readValue(responseJson, ShoppingListResponseDto.class);
+        Long baseVersion = original.version();
+
+        // first device removes itm121
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShoppingListPatchRequestDto(original.code(), List.of(
+                                new ShopListItemPatchDto(ShopListItemOperation.REMOVE, "itm121", null)), baseVersion))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].itemCode", containsInAnyOrder("itm231")));
+
+        // second device changes the quantity of itm121, or adds it again: rejected instead of lost or re-added
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShoppingListPatchRequestDto(original.code(), List.of(
+                                new ShopListItemPatchDto(ShopListItemOperation.UPDATE_QUANTITY, "itm121", 5)), baseVersion))))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShoppingListPatchRequestDto(original.code(), List.of(
+                                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm121", 1)), baseVersion))))
+                .andExpect(status().isConflict());
+
+        // based on the version which removed it, itm121 can be added again
+        mockMvc.perform(patch("/api/v1/shoppinglist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShoppingListPatchRequestDto(original.code(), List.of(
+                                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm121", 1)), baseVersion + 1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].itemCode", containsInAnyOrder("itm121", "itm231")));
+    }
+
     ShoppingListResponseDto createShoppingListResponseDto(String name,String code) {
     	return new ShoppingListResponseDto.Builder()
     			.name(name)
@@ -0,0 +1,83 @@
+package com.shoppinglist.mgmt.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.shoppinglist.mgmt.model.Item;
+import com.shoppinglist.mgmt.model.ShoppingList;
+import com.shoppinglist.mgmt.model.ShoppingListItem;
+
+/**
+ * Runs the Flyway migrations of the postgres profile on H2 in PostgreSQL mode, the entities are validated
+ * against the migrated schema instead of generating it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrationdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.sql.init.mode=never",
+        "spring.jpa.defer-datasource-initialization=false"
+})
+@Transactional
+class FlywayMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ShoppingListRepository shoppingListRepository;
+
+    @Test
+    void testMigrationsAreApplied() {
+        assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion).map(Object::toString))
+                .containsExactly("1", "2", "3", "4");
+    }
+
+    @Test
+    void testSeedItemsAreLoaded() {
+        assertThat(itemRepository.findByCode("item1245460")).get().extracting(Item::getItemName).isEqualTo("Milk");
+        assertThat(itemRepository.findItemsByNameStartingWith("bread", PageRequest.of(0, 5)))
+                .extracting(Item::getItemCode)
+                .containsExactly("item1245462", "item1245464");
+    }
+
+    @Test
+    void testNewRowsDoNotCollideWithTheSeedIds() {
+        List<Item> items = itemRepository.saveAll(List.of(
+                Item.builder().itemName("Oat Milk").itemPrice(1.0).itemCode("migr1").active(true).build(),
+                Item.builder().itemName("Soy Milk").itemPrice(1.0).itemCode("migr2").active(true).build()));
+        itemRepository.flush();
+
+        assertThat(items).extracting(Item::getItemId).allMatch(id -> id > 13);
+        assertThat(items).extracting(Item::getVersion).containsOnly(0L);
+    }
+
+    @Test
+    void testShoppingListIsReadWithItsItems() {
+        shoppingListRepository.saveAndFlush(ShoppingList.builder().name("migration").code("migrlist1")
+                .items(new HashSet<>(Set.of(ShoppingListItem.builder().itemCode("item1245460").itemQuantity(2).changedInVersion(0L).build())))
+                .build());
+
+        List<ShoppingListItemRow> rows = shoppingListRepository.findRowsByCode("migrlist1");
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).itemCode()).isEqualTo("item1245460");
+        assertThat(rows.get(0).version()).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.shoppinglist.mgmt.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.shoppinglist.mgmt.model.Item;
+
+/**
+ * Checks with EXPLAIN that the autocomplete and code lookups are served by an index, not a table scan.
+ */
+@SpringBootTest
+@Transactional
+class IndexUsageTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.saveAll(IntStream.range(0, 500)
+                .mapToObj(i -> Item.builder().itemName("Product " + i).itemPrice(1.0).itemCode("idx" + i)
+                        .active(i % 10 != 0).deleted(i % 20 == 0).build())
+                .toList());
+        itemRepository.save(Item.builder().itemName("  Oat MILK ").itemPrice(1.0).itemCode("idxmilk").active(true).build());
+        itemRepository.flush();
+    }
+
+    @Test
+    void testItemNameLowerIsMaintainedOnWrite() {
+        List<Item> items = itemRepository.findItemsByNameStartingWith("oat m", PageRequest.of(0, 5));
+
+        assertThat(items).extracting(Item::getItemCode).containsExactly("idxmilk");
+        assertThat(items.get(0).getItemNameLower()).isEqualTo("oat milk");
+    }
+
+    @Test
+    void testAutocompleteUsesTheActiveNameIndex() {
+        String plan = explain("SELECT * FROM \"ITEM\" WHERE active = TRUE AND deleted = FALSE"
+                + " AND item_name_lower LIKE 'prod%' ESCAPE '\\' ORDER BY item_name_lower");
+
+        assertThat(plan).containsIgnoringCase("idx_item_active_name").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void testShoppingListCodeLookupUsesAnIndex() {
+        String plan = explain("SELECT * FROM shopping_list WHERE code = 'shplst1' AND deleted = FALSE");
+
+        assertThat(plan).containsIgnoringCase("idx_shopping_list_code_deleted").doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void testActiveShoppingListScanUsesTheDeletedIdIndex() {
+        String plan = explain("SELECT id FROM shopping_list WHERE id > 0 AND deleted = FALSE ORDER BY id");
+
+        assertThat(plan).containsIgnoringCase("idx_shopping_list_deleted_id").doesNotContainIgnoringCase("tableScan");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,66 @@
+package com.shoppinglist.mgmt.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtUtilTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final JwtUtil jwtUtil = new JwtUtil(meterRegistry, 60_000, 100);
+
+    @Test
+    void testVerify_ValidToken() {
+        String token = jwtUtil.generateToken("admin");
+
+        Optional<Claims> claims = jwtUtil.verify(token);
+
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("admin");
+    }
+
+    @Test
+    void testVerify_ReusesTheVerifiedClaims() {
+        String token = jwtUtil.generateToken("admin");
+
+        assertThat(jwtUtil.verify(token).get()).isSameAs(jwtUtil.verify(token).get());
+        assertThat(meterRegistry.get("security.jwt.verification").tag("result", "verified").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwt.verification").tag("result", "cached").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testVerify_TamperedToken() {
+        String token = jwtUtil.generateToken("admin");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(jwtUtil.verify(tampered)).isEmpty();
+    }
+
+    @Test
+    void testVerify_TokenOfAnotherKey() {
+        String token = new JwtUtil(new SimpleMeterRegistry(), 60_000, 100).generateToken("admin");
+
+        assertThat(jwtUtil.verify(token)).isEmpty();
+    }
+
+    @Test
+    void testVerify_ExpiredToken() {
+        JwtUtil expiringJwtUtil = new JwtUtil(new SimpleMeterRegistry(), -1_000, 100);
+
+        assertThat(expiringJwtUtil.verify(expiringJwtUtil.generateToken("admin"))).isEmpty();
+    }
+
+    @Test
+    void testVerify_MalformedToken() {
+        assertThat(jwtUtil.verify("not-a-token")).isEmpty();
+        assertThat(jwtUtil.verify("")).isEmpty();
+        assertThat(jwtUtil.verify(null)).isEmpty();
+        assertThat(meterRegistry.get("security.jwt.verification").tag("result", "rejected").timer().count()).isEqualTo(3);
+    }
+}
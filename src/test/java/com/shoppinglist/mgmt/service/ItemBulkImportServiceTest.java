@@ -0,0 +1,157 @@
+package com.shoppinglist.mgmt.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoppinglist.mgmt.constants.Constants;
+import com.shoppinglist.mgmt.dto.BulkImportResponse;
+import com.shoppinglist.mgmt.dto.ItemImportFormat;
+import com.shoppinglist.mgmt.dto.ItemRequest;
+import com.shoppinglist.mgmt.dto.ItemRequestDto;
+import com.shoppinglist.mgmt.event.ItemsSavedEvent;
+import com.shoppinglist.mgmt.exception.CustomApplicationException;
+import com.shoppinglist.mgmt.model.Item;
+import com.shoppinglist.mgmt.repository.ItemRepository;
+import com.shoppinglist.mgmt.util.AppUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ItemBulkImportServiceTest {
+
+    private ItemRepository itemRepository;
+
+    private AppUtils utils;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ItemBulkImportService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        utils = mock(AppUtils.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ItemBulkImportService(itemRepository, utils, eventPublisher, transactionManager, meterRegistry,
+                new ObjectMapper(), 2, 5, 10);
+
+        when(utils.dtoToEntity(anyList())).thenAnswer(invocation -> ((List<ItemRequestDto>) invocation.getArgument(0))
+                .stream().map(dto -> Item.builder().itemName(dto.name()).itemPrice(dto.price()).build()).toList());
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testImportItems_WritesChunksInSeparateTransactions() {
+        BulkImportResponse response = service.importItems(request(5));
+
+        assertThat(response.imported()).isEqualTo(5);
+        assertThat(response.chunks()).isEqualTo(3);
+        assertThat(response.itemsPerSecond()).isPositive();
+        verify(itemRepository, times(3)).saveAll(anyList());
+        verify(transactionManager, times(3)).commit(any());
+        verify(eventPublisher, times(3)).publishEvent(any(ItemsSavedEvent.class));
+        assertThat(meterRegistry.get("items.bulk.imported").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("items.bulk.chunk").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testImportItems_NoItems() {
+        assertThatThrownBy(() -> service.importItems(new ItemRequest(List.of())))
+                .isInstanceOf(CustomApplicationException.class)
+                .hasMessage(Constants.ITEM_REQUIRED_ERROR);
+    }
+
+    @Test
+    void testImportItems_TooManyItems() {
+        assertThatThrownBy(() -> service.importItems(request(6)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(Constants.BULK_ITEM_LIMIT_EXCEEDED);
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testImportStream_NdjsonSkipsAndReportsInvalidRecords() throws IOException {
+        String ndjson = """
+                {"name":"Bread","price":0.99}
+                {"name":"Milk"}
+                {"name":"Rice","price":1.50,"supplierSku":"R-1"}
+
+                {"name":" ","price":2.0}
+                {"name":"Cola","price":0.65}
+                """;
+
+        BulkImportResponse response = service.importStream(stream(ndjson), ItemImportFormat.NDJSON);
+
+        assertThat(response.imported()).isEqualTo(3);
+        assertThat(response.rejected()).isEqualTo(2);
+        assertThat(response.chunks()).isEqualTo(2);
+        assertThat(response.errors()).containsExactly("line 2: " + Constants.INVALID_ITEM_PRICE,
+                "line 5: " + Constants.INVALID_ITEM_NAME);
+        assertThat(meterRegistry.get("items.bulk.rejected").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testImportStream_Csv() throws IOException {
+        String csv = """
+                name,price,supplier
+                Bread,0.99,acme
+                Milk,1.09,acme
+                Rice,1.50,acme
+                """;
+
+        BulkImportResponse response = service.importStream(stream(csv), ItemImportFormat.CSV);
+
+        assertThat(response.imported()).isEqualTo(3);
+        assertThat(response.rejected()).isZero();
+        verify(itemRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void testImportStream_MalformedRecordStopsAfterTheWrittenChunks() {
+        String ndjson = """
+                {"name":"Bread","price":0.99}
+                {"name":"Milk","price":1.09}
+                {"name":"Rice","price":1.50}
+                {"name":"Cola",
+                """;
+
+        assertThatThrownBy(() -> service.importStream(stream(ndjson), ItemImportFormat.NDJSON))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("3 items imported");
+        verify(itemRepository, times(2)).saveAll(anyList());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ItemRequest request(int size) {
+        return new ItemRequest(IntStream.range(0, size).mapToObj(i -> new ItemRequestDto("Item " + i, 1.0)).toList());
+    }
+}
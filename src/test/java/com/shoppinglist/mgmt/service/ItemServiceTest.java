@@ -1,10 +1,14 @@
 package com.shoppinglist.mgmt.service;
 
+import com.shoppinglist.mgmt.cache.ItemCatalogCache;
+import com.shoppinglist.mgmt.cache.ResourceVersionCache;
 import com.shoppinglist.mgmt.constants.Constants;
+import com.shoppinglist.mgmt.dto.ItemPageResponse;
 import com.shoppinglist.mgmt.dto.ItemRequest;
 import com.shoppinglist.mgmt.dto.ItemRequestDto;
 import com.shoppinglist.mgmt.dto.ItemResponse;
 import com.shoppinglist.mgmt.dto.ItemResponseDto;
+import com.shoppinglist.mgmt.event.ItemsSavedEvent;
 import com.shoppinglist.mgmt.exception.CustomApplicationException;
 import com.shoppinglist.mgmt.model.Item;
 import com.shoppinglist.mgmt.repository.ItemRepository;
@@ -13,6 +17,8 @@ import com.shoppinglist.mgmt.util.AppUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -26,6 +32,15 @@ class ItemServiceTest {
     @Mock
     private AppUtils utils;
 
+    @Mock
+    private ItemCatalogCache itemCatalogCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ResourceVersionCache versionCache;
+
     @InjectMocks
     private ItemService itemService;
 
@@ -35,28 +50,67 @@ class ItemServiceTest {
     }
 
     @Test
-    void testFindAllItems() {
+    void testFindPage_ReturnsNextCursorWhenMoreItemsExist() {
+        Item milk = createItemEntity("Milk","itm1211",1.09);
+        milk.setItemId(51L);
+        Item bread = createItemEntity("Bread","itm1212",0.99);
+        bread.setItemId(52L);
+        List<ItemResponseDto> itemDtos = List.of(createItemResponseDto("Milk","itm1211",1.09));
+
+        when(itemRepository.findPageAfter(50L, PageRequest.of(0, 2))).thenReturn(List.of(milk, bread));
+        when(utils.entityToDtoItem(List.of(milk))).thenReturn(itemDtos);
+
+        ItemPageResponse response = itemService.findPage(50L, 1);
+
+        assertThat(response.items()).hasSize(1);
+        assertThat(response.items().get(0).itemName()).isEqualTo("Milk");
+        assertThat(response.nextCursor()).isEqualTo(51L);
+    }
+
+    @Test
+    void testFindPage_LastPageHasNoCursor() {
         List<Item> items = List.of(createItemEntity("Milk","itm1211",1.09));
         List<ItemResponseDto> itemDtos = List.of(createItemResponseDto("Milk","itm1211",1.09));
 
-        when(itemRepository.findAll()).thenReturn(items);
+        when(itemRepository.findPageAfter(0L, PageRequest.of(0, 11))).thenReturn(items);
         when(utils.entityToDtoItem(items)).thenReturn(itemDtos);
 
-        ItemResponse response = itemService.findAll();
+        ItemPageResponse response = itemService.findPage(null, 10);
 
         assertThat(response.items()).hasSize(1);
-        assertThat(response.items().get(0).itemName()).isEqualTo("Milk");
+        assertThat(response.nextCursor()).isNull();
+    }
+
+    @Test
+    void testFindPage_SizeIsCappedAndMustBePositive() {
+        when(itemRepository.findPageAfter(0L, PageRequest.of(0, ItemService.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+        when(utils.entityToDtoItem(List.of())).thenReturn(List.of());
+
+        assertThat(itemService.findPage(null, 1_000_000).items()).isEmpty();
+        assertThatThrownBy(() -> itemService.findPage(null, 0))
+                .isInstanceOf(CustomApplicationException.class)
+                .hasMessage(Constants.INVALID_LIMIT);
+    }
+
+    @Test
+    void testStreamAll_HandsEveryItemToTheConsumer() {
+        List<ItemResponseDto> itemDtos = List.of(createItemResponseDto("Milk","itm1211",1.09),
+                createItemResponseDto("Bread","itm1212",0.99));
+        when(itemRepository.streamAllAsDto()).thenReturn(itemDtos.stream());
+
+        List<ItemResponseDto> streamed = new ArrayList<>();
+        itemService.streamAll(streamed::add);
 
-        verify(itemRepository, times(1)).findAll();
-        verify(utils, times(1)).entityToDtoItem(items);
+        assertThat(streamed).isEqualTo(itemDtos);
     }
 
     @Test
     void testGetItemByCode_Success() {
         Item item = createItemEntity("Milk","itm1211",1.09);
+        item.setVersion(2L);
         ItemResponseDto dto = createItemResponseDto("Milk","itm1211",1.09);
 
-        when(itemRepository.findByCode("itm1211")).thenReturn(Optional.of(item));
+        when(itemCatalogCache.findByCode("itm1211")).thenReturn(Optional.of(item));
         when(utils.toDto(item)).thenReturn(dto);
 
         ItemResponse response = itemService.getItemByCode("itm1211");
@@ -64,12 +118,13 @@ class ItemServiceTest {
         assertThat(response.items()).hasSize(1);
         assertThat(response.items().get(0).itemCode()).isEqualTo("itm1211");
 
-        verify(itemRepository).findByCode("itm1211");
+        verify(itemCatalogCache).findByCode("itm1211");
+        verify(versionCache).update(ResourceVersionCache.ITEM, "itm1211", 2L);
     }
 
     @Test
     void testGetItemByCode_NotFound() {
-        when(itemRepository.findByCode("UNKNOWN")).thenReturn(Optional.empty());
+        when(itemCatalogCache.findByCode("UNKNOWN")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> itemService.getItemByCode("UNKNOWN"))
                 .isInstanceOf(CustomApplicationException.class)
@@ -96,6 +151,7 @@ class ItemServiceTest {
         verify(itemRepository).saveAll(inputEntities);
         verify(utils).dtoToEntity(inputDtos);
         verify(utils).entityToDtoItem(savedEntities);
+        verify(eventPublisher).publishEvent(new ItemsSavedEvent(savedEntities));
     }
     
     @Test
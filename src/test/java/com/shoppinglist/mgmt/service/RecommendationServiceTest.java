@@ -4,12 +4,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,17 +18,19 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Pageable;
 
+import com.shoppinglist.mgmt.cache.ItemCatalogCache;
 import com.shoppinglist.mgmt.constants.Constants;
 import com.shoppinglist.mgmt.dto.ItemResponse;
 import com.shoppinglist.mgmt.dto.ItemResponseDto;
 import com.shoppinglist.mgmt.exception.CustomApplicationException;
 import com.shoppinglist.mgmt.model.Item;
-import com.shoppinglist.mgmt.model.ShoppingList;
-import com.shoppinglist.mgmt.model.ShoppingListItem;
 import com.shoppinglist.mgmt.repository.ItemRepository;
+import com.shoppinglist.mgmt.repository.ShoppingListItemRow;
 import com.shoppinglist.mgmt.repository.ShoppingListRepository;
+import com.shoppinglist.mgmt.suggestionengine.ItemPrefixIndex;
 import com.shoppinglist.mgmt.suggestionengine.RecommendationEngineContext;
 import com.shoppinglist.mgmt.suggestionengine.RecommendationStrategyType;
+import com.shoppinglist.mgmt.suggestionengine.ScoredItem;
 import com.shoppinglist.mgmt.util.AppUtils;
 
 class RecommendationServiceTest {
@@ -45,6 +47,12 @@ class RecommendationServiceTest {
     @Mock
     private RecommendationEngineContext recommendationEngine;
 
+    @Mock
+    private ItemPrefixIndex itemPrefixIndex;
+
+    @Mock
+    private ItemCatalogCache itemCatalogCache;
+
     @InjectMocks
     private RecommendationService recommendationService;
 
@@ -55,11 +63,32 @@ class RecommendationServiceTest {
 
     @Test
     void testFindItemsStartingWith_ValidPrefix() {
+        String prefix = "Mil";
+        int limit = 3;
+        List<Item> items = List.of(createItemEntity("Milk", "itm112", 10.9));
+        List<ItemResponseDto> dtos = List.of(createItemResponseDto("Milk", "itm112", 10.9));
+
+        when(itemPrefixIndex.isReady()).thenReturn(true);
+        when(itemPrefixIndex.findByPrefix("mil", limit)).thenReturn(items);
+        when(appUtils.entityToDtoItem(items)).thenReturn(dtos);
+
+        ItemResponse response = recommendationService.findItemsStartingWith(prefix, limit);
+
+        assertThat(response.items()).hasSize(1);
+        assertThat(response.items().get(0).itemName()).isEqualTo("Milk");
+
+        verify(itemPrefixIndex).findByPrefix("mil", limit);
+        verify(itemRepository, never()).findItemsByNameStartingWith(any(), any(Pageable.class));
+    }
+
+    @Test
+    void testFindItemsStartingWith_IndexNotReady_FallsBackToDb() {
         String prefix = "mil";
         int limit = 3;
         List<Item> items = List.of(createItemEntity("Milk", "itm112", 10.9));
         List<ItemResponseDto> dtos = List.of(createItemResponseDto("Milk", "itm112", 10.9));
 
+        when(itemPrefixIndex.isReady()).thenReturn(false);
         when(itemRepository.findItemsByNameStartingWith(eq(prefix), any(Pageable.class))).thenReturn(items);
         when(appUtils.entityToDtoItem(items)).thenReturn(dtos);
 
@@ -71,6 +100,17 @@ class RecommendationServiceTest {
         verify(itemRepository).findItemsByNameStartingWith(eq(prefix), any(Pageable.class));
     }
 
+    @Test
+    void testFindItemsStartingWith_IndexNotReady_EscapesLikeWildcards() {
+        when(itemPrefixIndex.isReady()).thenReturn(false);
+        when(itemRepository.findItemsByNameStartingWith(eq("50\\%\\_off"), any(Pageable.class))).thenReturn(List.of());
+        when(appUtils.entityToDtoItem(List.of())).thenReturn(List.of());
+
+        assertThat(recommendationService.findItemsStartingWith(" 50%_OFF", 3).items()).isEmpty();
+
+        verify(itemRepository).findItemsByNameStartingWith(eq("50\\%\\_off"), any(Pageable.class));
+    }
+
     @Test
     void testFindItemsStartingWith_InvalidPrefix() {
         assertThatThrownBy(() -> recommendationService.findItemsStartingWith("mi", 3))
@@ -83,39 +123,79 @@ class RecommendationServiceTest {
         String code = "SHOP123";
         RecommendationStrategyType strategy = RecommendationStrategyType.BASIC;
 
-        ShoppingList shoppingList = new ShoppingList();
-        shoppingList.setCode(code);
-
-        ShoppingListItem sli = ShoppingListItem.builder().itemCode("gin").itemQuantity(1).build();
-        shoppingList.setItems(Set.of(sli));
+        List<ShoppingListItemRow> rows = List.of(new ShoppingListItemRow("aperitivo", code, false, 0L, "gin", 1));
 
         // Mock recommendation engine returns related codes
         List<String> recommendedCodes = List.of("crodino", "sanbitter");
+        List<ScoredItem> recommendations = List.of(new ScoredItem("crodino", 2), new ScoredItem("sanbitter", 1));
 
         // Mock repository returns items for those codes
         List<Item> recommendedItems = List.of(createItemEntity("Crodino", "itm112", 2.5));
         List<ItemResponseDto> dtoList = List.of(createItemResponseDto("Crodino","itm112", 2.5));
 
-        when(shoppingListRepository.findByCode(code)).thenReturn(Optional.of(shoppingList));
-        when(recommendationEngine.recommend(List.of("gin"), strategy)).thenReturn(recommendedCodes);
-        when(itemRepository.findByItemCodeIn(recommendedCodes)).thenReturn(recommendedItems);
+        when(shoppingListRepository.findRowsByCode(code)).thenReturn(rows);
+        when(recommendationEngine.recommend(List.of("gin"), strategy, 4)).thenReturn(recommendations);
+        when(itemCatalogCache.findByCodes(recommendedCodes)).thenReturn(Map.of("itm112", recommendedItems.get(0)));
         when(appUtils.entityToDtoItem(recommendedItems)).thenReturn(dtoList);
 
-        ItemResponse response = recommendationService.findSuggestionsForShoppingList(code, strategy);
+        ItemResponse response = recommendationService.findSuggestionsForShoppingList(code, strategy, 2);
 
         assertThat(response.items()).hasSize(1);
         assertThat(response.items().get(0).itemName()).isEqualTo("Crodino");
     }
 
+    @Test
+    void testFindSuggestionsForShoppingList_EmptyList() {
+        List<ShoppingListItemRow> rows = List.of(new ShoppingListItemRow("empty", "SHOP0", false, 0L, null, null));
+
+        when(shoppingListRepository.findRowsByCode("SHOP0")).thenReturn(rows);
+        when(recommendationEngine.recommend(List.of(), RecommendationStrategyType.BASIC, 10)).thenReturn(List.of());
+        when(itemCatalogCache.findByCodes(List.of())).thenReturn(Map.of());
+        when(appUtils.entityToDtoItem(List.of())).thenReturn(List.of());
+
+        assertThat(recommendationService.findSuggestionsForShoppingList("SHOP0", RecommendationStrategyType.BASIC, 5).items()).isEmpty();
+        verify(recommendationEngine).recommend(List.of(), RecommendationStrategyType.BASIC, 10);
+    }
+
+    @Test
+    void testFindSuggestionsForShoppingList_FillsTheLimitPastInactiveItems() {
+        RecommendationStrategyType strategy = RecommendationStrategyType.RULE_BASED;
+        Item basil = createItemEntity("Basil", "basil", 1.0);
+        Item wine = createItemEntity("Wine", "wine", 8.0);
+        List<ItemResponseDto> dtoList = List.of(createItemResponseDto("Basil", "basil", 1.0),
+                createItemResponseDto("Wine", "wine", 8.0));
+
+        when(shoppingListRepository.findRowsByCode("SHOP1")).thenReturn(
+                List.of(new ShoppingListItemRow("dinner", "SHOP1", false, 0L, "pasta", 1)));
+        when(recommendationEngine.recommend(List.of("pasta"), strategy, 4)).thenReturn(List.of(
+                new ScoredItem("sauce", 9), new ScoredItem("basil", 8), new ScoredItem("cheese", 7), new ScoredItem("parmesan", 6)));
+        when(recommendationEngine.recommend(List.of("pasta"), strategy, 8)).thenReturn(List.of(
+                new ScoredItem("sauce", 9), new ScoredItem("basil", 8), new ScoredItem("cheese", 7), new ScoredItem("parmesan", 6),
+                new ScoredItem("wine", 5), new ScoredItem("olives", 4)));
+        when(itemCatalogCache.findByCodes(List.of("sauce", "basil", "cheese", "parmesan"))).thenReturn(Map.of("basil", basil));
+        when(itemCatalogCache.findByCodes(List.of("wine", "olives"))).thenReturn(Map.of("wine", wine));
+        when(appUtils.entityToDtoItem(List.of(basil, wine))).thenReturn(dtoList);
+
+        assertThat(recommendationService.findSuggestionsForShoppingList("SHOP1", strategy, 2).items())
+                .extracting(ItemResponseDto::itemCode).containsExactly("basil", "wine");
+    }
+
     @Test
     void testFindSuggestionsForShoppingList_NotFound() {
-        when(shoppingListRepository.findByCode("NOT_FOUND")).thenReturn(Optional.empty());
+        when(shoppingListRepository.findRowsByCode("NOT_FOUND")).thenReturn(List.of());
 
-        assertThatThrownBy(() -> recommendationService.findSuggestionsForShoppingList("NOT_FOUND", RecommendationStrategyType.BASIC))
+        assertThatThrownBy(() -> recommendationService.findSuggestionsForShoppingList("NOT_FOUND", RecommendationStrategyType.BASIC, 10))
                 .isInstanceOf(CustomApplicationException.class)
                 .hasMessage(Constants.NO_SHOPLIST_FOUND_FOR_CODE);
     }
     
+    @Test
+    void testFindSuggestionsForShoppingList_InvalidLimit() {
+        assertThatThrownBy(() -> recommendationService.findSuggestionsForShoppingList("SHOP123", RecommendationStrategyType.BASIC, 0))
+                .isInstanceOf(CustomApplicationException.class)
+                .hasMessage(Constants.INVALID_LIMIT);
+    }
+    
     Item createItemEntity(String name, String code,Double price) {
     	return Item.builder()
     			.itemCode(code)
@@ -3,69 +3,100 @@ package com.shoppinglist.mgmt.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.shoppinglist.mgmt.cache.ItemCatalogCache;
+import com.shoppinglist.mgmt.cache.ResourceVersionCache;
 import com.shoppinglist.mgmt.constants.Constants;
 import com.shoppinglist.mgmt.dto.ShopListItemDto;
+import com.shoppinglist.mgmt.dto.ShopListItemOperation;
+import com.shoppinglist.mgmt.dto.ShopListItemPatchDto;
+import com.shoppinglist.mgmt.dto.ShoppingListPatchRequestDto;
 import com.shoppinglist.mgmt.dto.ShoppingListRequestDto;
 import com.shoppinglist.mgmt.dto.ShoppingListResponseDto;
 import com.shoppinglist.mgmt.dto.ShoppingListUpdateRequestDto;
+import com.shoppinglist.mgmt.event.ShoppingListChangedEvent;
+import com.shoppinglist.mgmt.exception.ConflictException;
 import com.shoppinglist.mgmt.exception.CustomApplicationException;
 import com.shoppinglist.mgmt.model.Item;
 import com.shoppinglist.mgmt.model.ShoppingList;
-import com.shoppinglist.mgmt.repository.ItemRepository;
+import com.shoppinglist.mgmt.model.ShoppingListItem;
+import com.shoppinglist.mgmt.repository.ShoppingListItemRow;
 import com.shoppinglist.mgmt.repository.ShoppingListRepository;
 import com.shoppinglist.mgmt.util.AppUtils;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class ShoppingListServiceTest {
 
     @Mock
     private ShoppingListRepository shoppingListRepository;
 
     @Mock
-    private ItemRepository itemRepository;
+    private ItemCatalogCache itemCatalogCache;
 
     @Mock
     private AppUtils appUtils;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ResourceVersionCache versionCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private ShoppingListService shoppingListService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        shoppingListService = new ShoppingListService(shoppingListRepository, itemCatalogCache, appUtils, eventPublisher,
+                versionCache, transactionManager, meterRegistry, 3);
     }
 
     @Test
     void testFindByCode_Success() {
-        ShoppingList shoppingList = new ShoppingList();
-        shoppingList.setCode("CODE123");
+        List<ShoppingListItemRow> rows = List.of(new ShoppingListItemRow("shoplist-1", "CODE123", false, 4L, "itm121", 2));
 
-        ShoppingListResponseDto dto = createShoppingListResponseDto("shoplist-1", "CODE123");
+        ShoppingListResponseDto dto = new ShoppingListResponseDto("shoplist-1", "CODE123", false, List.of(), 4L);
 
-        when(shoppingListRepository.findByCode("CODE123")).thenReturn(Optional.of(shoppingList));
-        when(appUtils.entityToDtoShoppinglist(shoppingList)).thenReturn(dto);
+        when(shoppingListRepository.findRowsByCode("CODE123")).thenReturn(rows);
+        when(appUtils.rowsToDtoShoppinglist(rows)).thenReturn(dto);
 
         ShoppingListResponseDto result = shoppingListService.findByCode("CODE123");
 
         assertThat(result.code()).isEqualTo("CODE123");
+        verify(shoppingListRepository, never()).findByCode(any());
+        verify(versionCache).update(ResourceVersionCache.SHOPPING_LIST, "CODE123", 4L);
     }
 
     @Test
     void testFindByCode_NotFound() {
-        when(shoppingListRepository.findByCode("NOT_FOUND")).thenReturn(Optional.empty());
+        when(shoppingListRepository.findRowsByCode("NOT_FOUND")).thenReturn(List.of());
 
         assertThatThrownBy(() -> shoppingListService.findByCode("NOT_FOUND"))
                 .isInstanceOf(CustomApplicationException.class)
@@ -79,7 +110,7 @@ class ShoppingListServiceTest {
         ShoppingListRequestDto requestDto = createShoppingListRequestDto("shoplist-1", itemDto);
 
         // Mock item exists
-        when(itemRepository.findByCode("itm121")).thenReturn(Optional.of(new Item()));
+        when(itemCatalogCache.findByCodes(Set.of("itm121"))).thenReturn(catalogItems("itm121"));
 
         // Mock utility
         when(appUtils.generateShopListCode()).thenReturn("CODE123");
@@ -96,6 +127,7 @@ class ShoppingListServiceTest {
         assertThat(response.code()).isEqualTo("CODE123");
         verify(shoppingListRepository).save(captor.capture());
         assertThat(captor.getValue().getItems()).hasSize(1);
+        verify(eventPublisher).publishEvent(new ShoppingListChangedEvent(Set.of(), Set.of("itm121")));
     }
 
     @Test
@@ -104,7 +136,7 @@ class ShoppingListServiceTest {
         ShopListItemDto itemDto = new ShopListItemDto("INVALID", 1);
         ShoppingListRequestDto requestDto = createShoppingListRequestDto("shoplist-1", itemDto);
 
-        when(itemRepository.findByCode("INVALID")).thenReturn(Optional.empty());
+        when(itemCatalogCache.findByCodes(Set.of("INVALID"))).thenReturn(catalogItems());
         when(appUtils.generateShopListCode()).thenReturn("CODE321");
 
         ShoppingList saved = new ShoppingList();
@@ -129,14 +161,36 @@ class ShoppingListServiceTest {
         existingList.setCode("CODE999");
 
         when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
-        when(itemRepository.findByCode("ITEMX")).thenReturn(Optional.of(new Item()));
-        when(shoppingListRepository.save(any())).thenReturn(existingList);
+        when(itemCatalogCache.findByCodes(Set.of("ITEMX"))).thenReturn(catalogItems("ITEMX"));
+        when(shoppingListRepository.saveAndFlush(any())).thenReturn(existingList);
         when(appUtils.entityToDtoShoppinglist(any())).thenReturn(createShoppingListResponseDto("shoplist-1", "CODE999"));
 
         ShoppingListResponseDto response = shoppingListService.updateShoppingList(requestDto);
 
         assertThat(response.code()).isEqualTo("CODE999");
-        verify(shoppingListRepository).save(existingList);
+        assertThat(existingList.getUpdatedAt()).isNotNull();
+        verify(shoppingListRepository).saveAndFlush(existingList);
+    }
+
+    @Test
+    void testCreateShoppingList_ValidatesAllItemsWithSingleLookup() {
+        ShoppingListRequestDto requestDto = new ShoppingListRequestDto("shoplist-1", List.of(
+                createShopListItemDto("itm1", 1),
+                createShopListItemDto("itm2", 2),
+                createShopListItemDto("itm3", 3)));
+
+        when(itemCatalogCache.findByCodes(Set.of("itm1", "itm2", "itm3"))).thenReturn(catalogItems("itm1", "itm3"));
+        when(appUtils.generateShopListCode()).thenReturn("CODE123");
+        when(shoppingListRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(appUtils.entityToDtoShoppinglist(any())).thenReturn(createShoppingListResponseDto("shoplist-1", "CODE123"));
+
+        shoppingListService.createShoppingList(requestDto);
+
+        ArgumentCaptor<ShoppingList> captor = ArgumentCaptor.forClass(ShoppingList.class);
+        verify(shoppingListRepository).save(captor.capture());
+        assertThat(captor.getValue().getItems()).extracting(ShoppingListItem::getItemCode).containsExactlyInAnyOrder("itm1", "itm3");
+        verify(itemCatalogCache, times(1)).findByCodes(any());
+        verify(itemCatalogCache, never()).findByCode(any());
     }
 
     @Test
@@ -150,6 +204,262 @@ class ShoppingListServiceTest {
                 .hasMessage(Constants.NO_SHOPLIST_FOUND_FOR_CODE);
     }
     
+    @Test
+    void testUpdateShoppingList_OnlyChangedItemsAreTouched() {
+        ShoppingListItem unchanged = ShoppingListItem.builder().id(1L).itemCode("itm1").itemQuantity(1).build();
+        ShoppingListItem changed = ShoppingListItem.builder().id(2L).itemCode("itm2").itemQuantity(2).build();
+        ShoppingListItem removed = ShoppingListItem.builder().id(3L).itemCode("itm3").itemQuantity(3).build();
+        ShoppingList existingList = new ShoppingList();
+        existingList.setCode("CODE999");
+        existingList.setItems(new HashSet<>(Set.of(unchanged, changed, removed)));
+
+        ShoppingListUpdateRequestDto requestDto = new ShoppingListUpdateRequestDto("CODE999", List.of(
+                createShopListItemDto("itm1", 1),
+                createShopListItemDto("itm2", 5),
+                createShopListItemDto("itm4", 4)));
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
+        when(itemCatalogCache.findByCodes(Set.of("itm1", "itm2", "itm4"))).thenReturn(catalogItems("itm1", "itm2", "itm4"));
+        when(shoppingListRepository.saveAndFlush(any())).thenReturn(existingList);
+
+        shoppingListService.updateShoppingList(requestDto);
+
+        assertThat(existingList.getItems()).extracting(ShoppingListItem::getItemCode).containsExactlyInAnyOrder("itm1", "itm2", "itm4");
+        assertThat(existingList.getItems()).contains(unchanged, changed);
+        assertThat(unchanged.getItemQuantity()).isEqualTo(1);
+        assertThat(changed.getItemQuantity()).isEqualTo(5);
+        verify(eventPublisher).publishEvent(new ShoppingListChangedEvent(Set.of("itm1", "itm2", "itm3"), Set.of("itm1", "itm2", "itm4")));
+    }
+
+    @Test
+    void testPatchShoppingList_AppliesAddRemoveAndQuantityChanges() {
+        ShoppingListItem bread = ShoppingListItem.builder().itemCode("itm1").itemQuantity(1).build();
+        ShoppingListItem milk = ShoppingListItem.builder().itemCode("itm2").itemQuantity(2).build();
+        ShoppingListItem butter = ShoppingListItem.builder().itemCode("itm3").itemQuantity(3).build();
+        ShoppingList existingList = new ShoppingList();
+        existingList.setCode("CODE999");
+        existingList.setItems(new HashSet<>(Set.of(bread, milk, butter)));
+
+        ShoppingListPatchRequestDto requestDto = new ShoppingListPatchRequestDto("CODE999", List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm1", 2),
+                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm4", 4),
+                new ShopListItemPatchDto(ShopListItemOperation.ADD, "UNKNOWN", 1),
+                new ShopListItemPatchDto(ShopListItemOperation.UPDATE_QUANTITY, "itm2", 7),
+                new ShopListItemPatchDto(ShopListItemOperation.REMOVE, "itm3", null)));
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
+        when(itemCatalogCache.findByCodes(Set.of("itm1", "itm4", "UNKNOWN"))).thenReturn(catalogItems("itm1", "itm4"));
+        when(shoppingListRepository.saveAndFlush(any())).thenReturn(existingList);
+        when(appUtils.entityToDtoShoppinglist(any())).thenReturn(createShoppingListResponseDto("shoplist-1", "CODE999"));
+
+        ShoppingListResponseDto response = shoppingListService.patchShoppingList(requestDto);
+
+        assertThat(response.code()).isEqualTo("CODE999");
+        assertThat(existingList.getItems()).extracting(ShoppingListItem::getItemCode).containsExactlyInAnyOrder("itm1", "itm2", "itm4");
+        assertThat(bread.getItemQuantity()).isEqualTo(3);
+        assertThat(milk.getItemQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    void testPatchShoppingList_QuantityOnlyChangeIncrementsTheListVersion() {
+        ShoppingListItem milk = ShoppingListItem.builder().itemCode("itm2").itemQuantity(2).build();
+        ShoppingList existingList = ShoppingList.builder().code("CODE999").version(3L).items(new HashSet<>(Set.of(milk))).build();
+
+        ShoppingListPatchRequestDto requestDto = new ShoppingListPatchRequestDto("CODE999", List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.UPDATE_QUANTITY, "itm2", 7)));
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
+        when(itemCatalogCache.findByCodes(Set.of())).thenReturn(catalogItems());
+        when(shoppingListRepository.saveAndFlush(existingList)).thenAnswer(invocation -> {
+            existingList.setVersion(4L);
+            return existingList;
+        });
+
+        shoppingListService.patchShoppingList(requestDto);
+
+        assertThat(existingList.getUpdatedAt()).isNotNull();
+        verify(versionCache).updateAfterCommit(ResourceVersionCache.SHOPPING_LIST, "CODE999", 4L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateShoppingList_UnchangedItemsAreNotWritten() {
+        ShoppingListItem milk = ShoppingListItem.builder().itemCode("itm2").itemQuantity(2).build();
+        ShoppingList existingList = ShoppingList.builder().code("CODE999").version(3L).items(new HashSet<>(Set.of(milk))).build();
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
+        when(itemCatalogCache.findByCodes(Set.of("itm2"))).thenReturn(catalogItems("itm2"));
+
+        shoppingListService.updateShoppingList(createShoppingListUpdateRequestDto("CODE999", createShopListItemDto("itm2", 2)));
+
+        assertThat(existingList.getUpdatedAt()).isNull();
+        verify(shoppingListRepository, never()).saveAndFlush(any());
+        verify(versionCache, never()).updateAfterCommit(any(), any(), any());
+    }
+
+    @Test
+    void testUpdateShoppingList_ChangedSinceExpectedVersion_ThrowsConflict() {
+        ShoppingListItem milk = ShoppingListItem.builder().itemCode("itm2").itemQuantity(2).changedInVersion(0L).build();
+        ShoppingList existingList = ShoppingList.builder().code("CODE999").version(4L).items(new HashSet<>(Set.of(milk))).build();
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
+
+        ShoppingListUpdateRequestDto requestDto = new ShoppingListUpdateRequestDto("CODE999",
+                List.of(createShopListItemDto("itm2", 5)), 3L);
+
+        assertThatThrownBy(() -> shoppingListService.updateShoppingList(requestDto))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage(String.format(Constants.SHOPLIST_VERSION_CONFLICT, 3L, 4L));
+        assertThat(milk.getItemQuantity()).isEqualTo(2);
+        verify(shoppingListRepository, never()).saveAndFlush(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void testPatchShoppingList_ItemsUnchangedSinceExpectedVersion_AreMerged() {
+        ShoppingListItem bread = ShoppingListItem.builder().itemCode("itm1").itemQuantity(1).changedInVersion(0L).build();
+        ShoppingListItem milk = ShoppingListItem.builder().itemCode("itm2").itemQuantity(2).changedInVersion(4L).build();
+        ShoppingList existingList = ShoppingList.builder().code("CODE999").version(4L).items(new HashSet<>(Set.of(bread, milk))).build();
+
+        ShoppingListPatchRequestDto requestDto = new ShoppingListPatchRequestDto("CODE999", List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.UPDATE_QUANTITY, "itm1", 3)), 3L);
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
+        when(itemCatalogCache.findByCodes(Set.of())).thenReturn(catalogItems());
+        when(shoppingListRepository.saveAndFlush(existingList)).thenReturn(existingList);
+
+        shoppingListService.patchShoppingList(requestDto);
+
+        assertThat(bread.getItemQuantity()).isEqualTo(3);
+        assertThat(bread.getChangedInVersion()).isEqualTo(5L);
+        assertThat(milk.getChangedInVersion()).isEqualTo(4L);
+        assertThat(meterRegistry.get("shoppinglist.update.conflicts").tag("outcome", "merged").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPatchShoppingList_ItemChangedSinceExpectedVersion_ThrowsConflict() {
+        ShoppingListItem milk = ShoppingListItem.builder().itemCode("itm2").itemQuantity(2).changedInVersion(4L).build();
+        ShoppingList existingList = ShoppingList.builder().code("CODE999").version(4L).items(new HashSet<>(Set.of(milk))).build();
+
+        ShoppingListPatchRequestDto requestDto = new ShoppingListPatchRequestDto("CODE999", List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.REMOVE, "itm2", null)), 3L);
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
+
+        assertThatThrownBy(() -> shoppingListService.patchShoppingList(requestDto))
+                .isInstanceOf(ConflictException.class);
+        assertThat(existingList.getItems()).containsExactly(milk);
+        assertThat(meterRegistry.get("shoppinglist.update.conflicts").tag("outcome", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPatchShoppingList_ConcurrentUpdate_IsAppliedAgainOnTheNewState() {
+        ShoppingList staleList = ShoppingList.builder().code("CODE999").version(3L)
+                .items(new HashSet<>(Set.of(ShoppingListItem.builder().itemCode("itm1").itemQuantity(1).build()))).build();
+        ShoppingList currentList = ShoppingList.builder().code("CODE999").version(4L)
+                .items(new HashSet<>(Set.of(ShoppingListItem.builder().itemCode("itm1").itemQuantity(2).build()))).build();
+
+        ShoppingListPatchRequestDto requestDto = new ShoppingListPatchRequestDto("CODE999", List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm1", 1)));
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(staleList), Optional.of(currentList));
+        when(itemCatalogCache.findByCodes(Set.of("itm1"))).thenReturn(catalogItems("itm1"));
+        when(shoppingListRepository.saveAndFlush(staleList))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ShoppingList.class, 1L));
+        when(shoppingListRepository.saveAndFlush(currentList)).thenReturn(currentList);
+
+        shoppingListService.patchShoppingList(requestDto);
+
+        assertThat(currentList.getItems()).extracting(ShoppingListItem::getItemQuantity).containsExactly(3);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+        assertThat(meterRegistry.get("shoppinglist.update.conflicts").tag("outcome", "retried").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPatchShoppingList_StillConcurrentAfterMaxAttempts_ThrowsConflict() {
+        when(shoppingListRepository.findByCode("CODE999")).thenAnswer(invocation -> Optional.of(ShoppingList.builder()
+                .code("CODE999").version(3L).items(new HashSet<>()).build()));
+        when(itemCatalogCache.findByCodes(Set.of("itm1"))).thenReturn(catalogItems("itm1"));
+        when(shoppingListRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ShoppingList.class, 1L));
+
+        ShoppingListPatchRequestDto requestDto = new ShoppingListPatchRequestDto("CODE999", List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm1", 1)));
+
+        assertThatThrownBy(() -> shoppingListService.patchShoppingList(requestDto))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage(Constants.SHOPLIST_CONCURRENT_UPDATE);
+        verify(shoppingListRepository, times(3)).saveAndFlush(any());
+    }
+
+    @Test
+    void testPatchShoppingList_MissingQuantity_ThrowsException() {
+        ShoppingList existingList = new ShoppingList();
+        existingList.setCode("CODE999");
+        existingList.setItems(new HashSet<>());
+
+        ShoppingListPatchRequestDto requestDto = new ShoppingListPatchRequestDto("CODE999", List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm1", null)));
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
+        when(itemCatalogCache.findByCodes(Set.of("itm1"))).thenReturn(catalogItems("itm1"));
+
+        assertThatThrownBy(() -> shoppingListService.patchShoppingList(requestDto))
+                .isInstanceOf(CustomApplicationException.class)
+                .hasMessage(Constants.INVALID_ITEM_QUANTITY);
+    }
+
+    @Test
+    void testPatchShoppingList_NonPositiveQuantity_ThrowsException() {
+        ShoppingList existingList = new ShoppingList();
+        existingList.setCode("CODE999");
+        existingList.setItems(new HashSet<>());
+
+        ShoppingListPatchRequestDto requestDto = new ShoppingListPatchRequestDto("CODE999", List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm1", -5)));
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
+        when(itemCatalogCache.findByCodes(Set.of("itm1"))).thenReturn(catalogItems("itm1"));
+
+        assertThatThrownBy(() -> shoppingListService.patchShoppingList(requestDto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(Constants.NON_POSITIVE_ITEM_QUANTITY);
+        verify(shoppingListRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testPatchShoppingList_AddedQuantityOverflow_ThrowsException() {
+        ShoppingListItem bread = ShoppingListItem.builder().itemCode("itm1").itemQuantity(Integer.MAX_VALUE - 1).build();
+        ShoppingList existingList = new ShoppingList();
+        existingList.setCode("CODE999");
+        existingList.setItems(new HashSet<>(Set.of(bread)));
+
+        ShoppingListPatchRequestDto requestDto = new ShoppingListPatchRequestDto("CODE999", List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.ADD, "itm1", 2)));
+
+        when(shoppingListRepository.findByCode("CODE999")).thenReturn(Optional.of(existingList));
+        when(itemCatalogCache.findByCodes(Set.of("itm1"))).thenReturn(catalogItems("itm1"));
+
+        assertThatThrownBy(() -> shoppingListService.patchShoppingList(requestDto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(String.format(Constants.ITEM_QUANTITY_OVERFLOW, Integer.MAX_VALUE));
+        assertThat(bread.getItemQuantity()).isEqualTo(Integer.MAX_VALUE - 1);
+        verify(shoppingListRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testPatchShoppingList_NotFound() {
+        when(shoppingListRepository.findByCode("UNKNOWN")).thenReturn(Optional.empty());
+
+        ShoppingListPatchRequestDto requestDto = new ShoppingListPatchRequestDto("UNKNOWN", List.of(
+                new ShopListItemPatchDto(ShopListItemOperation.REMOVE, "itm1", null)));
+
+        assertThatThrownBy(() -> shoppingListService.patchShoppingList(requestDto))
+                .isInstanceOf(CustomApplicationException.class)
+                .hasMessage(Constants.NO_SHOPLIST_FOUND_FOR_CODE);
+    }
+    
     ShoppingListResponseDto createShoppingListResponseDto(String name,String code) {
     	return new ShoppingListResponseDto.Builder()
     			.name(name)
@@ -172,6 +482,14 @@ class ShoppingListServiceTest {
     		return new ShoppingListUpdateRequestDto(code, List.of(item));
     }
     
+    Map<String, Item> catalogItems(String... codes) {
+    	Map<String, Item> items = new LinkedHashMap<>();
+    	for (String code : codes) {
+    		items.put(code, createItemEntity(code, code, 1.0));
+    	}
+    	return items;
+    }
+    
     ShopListItemDto createShopListItemDto(String itemCode, int quantity) {
     	return new ShopListItemDto(itemCode, quantity);
     }
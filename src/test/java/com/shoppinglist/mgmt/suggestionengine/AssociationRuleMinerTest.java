@@ -0,0 +1,71 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AssociationRuleMinerTest {
+
+    private final AssociationRuleMiner miner = new AssociationRuleMiner();
+
+    @BeforeEach
+    void setUp() {
+        miner.addTransaction(List.of("pasta", "sauce", "cheese"));
+        miner.addTransaction(List.of("pasta", "sauce"));
+        miner.addTransaction(List.of("pasta", "cheese", "pasta"));
+        miner.addTransaction(List.of("bread"));
+    }
+
+    @Test
+    void testMine_OrdersConsequentsByConfidence() {
+        List<RecommendationRule> rules = miner.mine(2, 0.5, 5);
+
+        assertThat(miner.transactionCount()).isEqualTo(4);
+        assertThat(rules).containsExactly(
+                new RecommendationRule(Set.of("cheese"), List.of("pasta"), List.of(1.0)),
+                new RecommendationRule(Set.of("pasta"), List.of("cheese", "sauce"), List.of(2 / 3.0, 2 / 3.0)),
+                new RecommendationRule(Set.of("sauce"), List.of("pasta"), List.of(1.0)));
+    }
+
+    @Test
+    void testMine_AppliesSupportAndConfidenceThresholds() {
+        assertThat(miner.mine(3, 0.5, 5)).isEmpty();
+        assertThat(miner.mine(1, 1.0, 5)).extracting(RecommendationRule::antecedent)
+                .containsExactly(Set.of("cheese"), Set.of("sauce"));
+    }
+
+    @Test
+    void testMine_HonoursMaxConsequents() {
+        assertThat(miner.mine(1, 0.0, 1)).filteredOn(rule -> rule.antecedent().contains("pasta"))
+                .singleElement().extracting(RecommendationRule::consequents).isEqualTo(List.of("cheese"));
+    }
+
+    @Test
+    void testAddTransaction_DropsTheLeastSupportedPairsBeyondMaxPairs() {
+        AssociationRuleMiner capped = new AssociationRuleMiner(4);
+        capped.addTransaction(List.of("pasta", "sauce"));
+        capped.addTransaction(List.of("pasta", "sauce"));
+        capped.addTransaction(List.of("bread", "butter"));
+        capped.addTransaction(List.of("bread", "jam"));
+        assertThat(capped.pairCount()).isEqualTo(3);
+
+        capped.addTransaction(List.of("milk", "cereal", "honey"));
+
+        assertThat(capped.pairCount()).isEqualTo(1);
+        assertThat(capped.mine(2, 0.5, 5)).containsExactly(
+                new RecommendationRule(Set.of("pasta"), List.of("sauce"), List.of(1.0)),
+                new RecommendationRule(Set.of("sauce"), List.of("pasta"), List.of(1.0)));
+    }
+
+    @Test
+    void testReset() {
+        miner.reset();
+
+        assertThat(miner.transactionCount()).isZero();
+        assertThat(miner.mine(1, 0.0, 5)).isEmpty();
+    }
+}
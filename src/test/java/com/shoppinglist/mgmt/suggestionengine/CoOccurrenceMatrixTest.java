@@ -0,0 +1,72 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CoOccurrenceMatrixTest {
+
+    private final CoOccurrenceMatrix matrix = new CoOccurrenceMatrix(3);
+
+    @BeforeEach
+    void setUp() {
+        matrix.add(List.of("pasta", "sauce", "cheese"));
+        matrix.add(List.of("pasta", "sauce"));
+        matrix.add(List.of("pasta", "wine", "wine"));
+        matrix.add(List.of("bread", "butter"));
+    }
+
+    @Test
+    void testTopK_OrdersByCoOccurrenceCount() {
+        assertThat(codes(matrix.topK(List.of("pasta"), 10))).containsExactly("sauce", "cheese", "wine");
+        assertThat(codes(matrix.topK(List.of("pasta"), 1))).containsExactly("sauce");
+        assertThat(matrix.topK(List.of("pasta"), 2)).containsExactly(new ScoredItem("sauce", 2), new ScoredItem("cheese", 1));
+    }
+
+    @Test
+    void testTopK_SumsCountsOverTheListAndSkipsItsItems() {
+        assertThat(codes(matrix.topK(List.of("sauce", "cheese"), 10))).containsExactly("pasta");
+        assertThat(codes(matrix.topK(List.of("pasta", "bread"), 10))).containsExactly("sauce", "cheese", "wine", "butter");
+    }
+
+    @Test
+    void testTopK_UnknownItems() {
+        assertThat(codes(matrix.topK(List.of("rice"), 10))).isEmpty();
+        assertThat(codes(matrix.topK(List.of(), 10))).isEmpty();
+    }
+
+    @Test
+    void testReplace_MovesCountsToTheNewItems() {
+        matrix.replace(List.of("bread", "butter"), List.of("bread", "jam"));
+
+        assertThat(codes(matrix.topK(List.of("bread"), 10))).containsExactly("jam");
+        assertThat(codes(matrix.topK(List.of("butter"), 10))).isEmpty();
+    }
+
+    @Test
+    void testAdd_KeepsOnlyTheMostFrequentNeighbours() {
+        matrix.add(List.of("pasta", "basil"));
+
+        assertThat(codes(matrix.topK(List.of("pasta"), 10))).hasSize(3).startsWith("sauce");
+        assertThat(matrix.itemCount()).isEqualTo(7);
+        assertThat(matrix.entryCount()).isEqualTo(11);
+    }
+
+    @Test
+    void testAdd_NewNeighbourReplacesTheLeastFrequentOne() {
+        matrix.add(List.of("pasta", "cheese"));
+        matrix.add(List.of("pasta", "wine"));
+
+        matrix.add(List.of("pasta", "basil"));
+
+        assertThat(matrix.topK(List.of("pasta"), 10)).containsExactly(
+                new ScoredItem("basil", 3), new ScoredItem("cheese", 2), new ScoredItem("wine", 2));
+    }
+
+    private static List<String> codes(List<ScoredItem> items) {
+        return items.stream().map(ScoredItem::itemCode).toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class CompiledRuleSetTest {
+
+    private final CompiledRuleSet rules = CompiledRuleSet.compile(List.of(
+            new RecommendationRule(Set.of("pasta", "sauce"), List.of("cheese", "wine")),
+            new RecommendationRule(Set.of("pasta"), List.of("parmesan", "sauce")),
+            new RecommendationRule(Set.of("bread"), List.of("butter"))));
+
+    @Test
+    void testMatch_AppliesAllMatchingRulesInDeclarationOrder() {
+        assertThat(rules.match(List.of("sauce", "bread", "pasta")))
+                .containsExactly("cheese", "wine", "parmesan", "butter");
+    }
+
+    @Test
+    void testMatch_RequiresTheWholeAntecedent() {
+        assertThat(rules.match(List.of("sauce"))).isEmpty();
+    }
+
+    @Test
+    void testMatch_SkipsItemsAlreadyInTheList() {
+        assertThat(rules.match(List.of("pasta"))).containsExactly("parmesan", "sauce");
+        assertThat(rules.match(List.of("pasta", "parmesan"))).containsExactly("sauce");
+    }
+
+    @Test
+    void testMatch_IgnoresDuplicateItems() {
+        assertThat(rules.match(List.of("bread", "bread"))).containsExactly("butter");
+    }
+
+    @Test
+    void testMatchTop_RanksByNumberOfMatchingRules() {
+        CompiledRuleSet voting = CompiledRuleSet.compile(List.of(
+                new RecommendationRule(Set.of("pasta"), List.of("parmesan", "wine")),
+                new RecommendationRule(Set.of("sauce"), List.of("basil", "wine")),
+                new RecommendationRule(Set.of("pasta", "sauce"), List.of("wine", "basil"))));
+
+        assertThat(voting.matchTop(List.of("pasta", "sauce"), 2))
+                .containsExactly(new ScoredItem("wine", 3), new ScoredItem("basil", 2));
+        assertThat(rules.matchTop(List.of("bread"), 5)).containsExactly(new ScoredItem("butter", 1));
+    }
+
+    @Test
+    void testMatchTop_RanksMinedRulesBySummedConfidence() {
+        CompiledRuleSet mined = CompiledRuleSet.compile(List.of(
+                new RecommendationRule(Set.of("pasta"), List.of("parmesan", "wine"), List.of(0.9, 0.2)),
+                new RecommendationRule(Set.of("sauce"), List.of("wine", "basil"), List.of(0.3, 0.6))));
+
+        assertThat(mined.matchTop(List.of("pasta", "sauce"), 3)).extracting(ScoredItem::itemCode)
+                .containsExactly("parmesan", "basil", "wine");
+    }
+
+    @Test
+    void testCompile_RejectsMissingConfidences() {
+        assertThatThrownBy(() -> CompiledRuleSet.compile(List.of(
+                new RecommendationRule(Set.of("bread"), List.of("butter", "jam"), List.of(0.5)))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testCompile_RejectsRuleWithoutAntecedent() {
+        assertThatThrownBy(() -> CompiledRuleSet.compile(List.of(new RecommendationRule(Set.of(), List.of("butter")))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
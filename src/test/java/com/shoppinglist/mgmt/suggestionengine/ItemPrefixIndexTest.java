@@ -0,0 +1,74 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.shoppinglist.mgmt.model.Item;
+import com.shoppinglist.mgmt.repository.ItemRepository;
+
+class ItemPrefixIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemPrefixIndex itemPrefixIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(itemRepository.findAllActive()).thenReturn(List.of(
+                createItemEntity("Bread", "itm1", 0.99),
+                createItemEntity("BreadCrumbs", "itm2", 0.99),
+                createItemEntity("Butter", "itm3", 1.69),
+                createItemEntity("bread", "itm4", 1.19)));
+        itemPrefixIndex.rebuild();
+    }
+
+    @Test
+    void testFindByPrefix_IsCaseInsensitiveAndOrderedByName() {
+        List<Item> result = itemPrefixIndex.findByPrefix("BREA", 10);
+
+        assertThat(itemPrefixIndex.isReady()).isTrue();
+        assertThat(result).extracting(Item::getItemCode).containsExactly("itm1", "itm4", "itm2");
+    }
+
+    @Test
+    void testFindByPrefix_HonoursLimit() {
+        assertThat(itemPrefixIndex.findByPrefix("bre", 2)).hasSize(2);
+    }
+
+    @Test
+    void testFindByPrefix_NoMatch() {
+        assertThat(itemPrefixIndex.findByPrefix("che", 10)).isEmpty();
+    }
+
+    @Test
+    void testAddAll_IndexesOnlyActiveItems() {
+        Item cheese = createItemEntity("Cheese", "itm5", 1.99);
+        Item deleted = createItemEntity("Cherry", "itm6", 2.99);
+        deleted.setDeleted(true);
+
+        itemPrefixIndex.addAll(List.of(cheese, deleted));
+
+        assertThat(itemPrefixIndex.findByPrefix("che", 10)).containsExactly(cheese);
+    }
+
+    Item createItemEntity(String name, String code,Double price) {
+    	return Item.builder()
+    			.itemCode(code)
+    			.itemName(name)
+    			.itemPrice(price)
+    			.active(true)
+    			.deleted(false)
+    			.bought(false).build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LlmRecommendationStrategyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private volatile long upstreamDelayMillis;
+
+    private volatile String unansweredItem;
+
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+
+    private HttpServer server;
+
+    private BasicRuleRecommendationEngine basicEngine;
+
+    private LlmRecommendationStrategy strategy;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/suggestions", this::answer);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        basicEngine = mock(BasicRuleRecommendationEngine.class);
+        when(basicEngine.suggest(List.of("pasta"))).thenReturn(List.of("parmesan"));
+        strategy = new LlmRecommendationStrategy(basicEngine, objectMapper, new SimpleMeterRegistry(),
+                "http://localhost:" + server.getAddress().getPort() + "/v1/suggestions", 1000, 2000, 100, 32, 100, 60);
+        strategy.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        strategy.stop();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testSuggest_ReturnsModelSuggestionsWithoutCurrentItems() {
+        assertThat(strategy.getType()).isEqualTo(RecommendationStrategyType.LLM);
+        assertThat(strategy.suggest(List.of("pasta", "sauce"))).containsExactly("wine");
+    }
+
+    @Test
+    void testSuggest_CachesBySortedItemCodes() {
+        strategy.suggest(List.of("pasta", "sauce"));
+        strategy.suggest(List.of("sauce", "pasta", "pasta"));
+
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void testSuggest_BatchesConcurrentRequestsIntoOneUpstreamCall() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> results = List.of("bread", "milk", "eggs", "rice").stream()
+                    .map(code -> executor.submit(() -> {
+                        barrier.await();
+                        return strategy.suggest(List.of(code));
+                    }))
+                    .toList();
+            for (Future<List<String>> result : results) {
+                assertThat(result.get()).containsExactly("wine");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void testSuggest_FallsBackToBasicEngineWhenModelIsTooSlow() {
+        upstreamDelayMillis = 1500;
+
+        assertThat(strategy.suggest(List.of("pasta"))).containsExactly("parmesan");
+    }
+
+    @Test
+    void testSuggest_FallsBackToBasicEngineWhenModelFails() {
+        server.removeContext("/v1/suggestions");
+
+        assertThat(strategy.suggest(List.of("pasta"))).containsExactly("parmesan");
+    }
+
+    @Test
+    void testSuggest_CachesLateAnswers() throws Exception {
+        upstreamDelayMillis = 1200;
+        strategy.suggest(List.of("pasta"));
+        upstreamDelayMillis = 0;
+        Thread.sleep(700);
+
+        assertThat(strategy.suggest(List.of("pasta"))).containsExactly("wine");
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void testSuggest_AnswersEveryListOfTheBatchWhenOneModelAnswerIsMissing() throws Exception {
+        unansweredItem = "milk";
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<String>> bread = executor.submit(() -> {
+                barrier.await();
+                return strategy.suggest(List.of("bread"));
+            });
+            Future<List<String>> milk = executor.submit(() -> {
+                barrier.await();
+                return strategy.suggest(List.of("milk"));
+            });
+
+            assertThat(bread.get()).containsExactly("wine");
+            assertThat(milk.get()).isEmpty();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(strategy.suggest(List.of("eggs"))).containsExactly("wine");
+    }
+
+    /**
+     * Suggests "wine" (and echoes the first item of the list) for every list in the batch, but
+     * answers null for the list starting with {@link #unansweredItem}.
+     */
+    private void answer(HttpExchange exchange) throws IOException {
+        upstreamCalls.incrementAndGet();
+        LlmRecommendationStrategy.InferenceRequest request = objectMapper.readValue(exchange.getRequestBody(),
+                LlmRecommendationStrategy.InferenceRequest.class);
+        try {
+            Thread.sleep(upstreamDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<List<String>> suggestions = request.lists().stream()
+                .map(list -> list.get(0).equals(unansweredItem) ? null : List.of(list.get(0), "wine"))
+                .toList();
+        byte[] body = objectMapper.writeValueAsBytes(new LlmRecommendationStrategy.InferenceResponse(suggestions));
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
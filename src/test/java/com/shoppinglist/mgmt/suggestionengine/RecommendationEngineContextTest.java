@@ -0,0 +1,44 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.shoppinglist.mgmt.constants.Constants;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RecommendationEngineContextTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testRecommend_TimesEachStrategyWithItsType() {
+        RecommendationStrategy strategy = mock(RecommendationStrategy.class);
+        when(strategy.getType()).thenReturn(RecommendationStrategyType.BASIC);
+        when(strategy.suggestTop(List.of("item1"), 3)).thenReturn(List.of(new ScoredItem("item2", 1)));
+        RecommendationEngineContext context = new RecommendationEngineContext(List.of(strategy), meterRegistry);
+
+        List<ScoredItem> suggestions = context.recommend(List.of("item1"), RecommendationStrategyType.BASIC, 3);
+
+        assertThat(suggestions).extracting(ScoredItem::itemCode).containsExactly("item2");
+        Timer timer = meterRegistry.get("recommendation.strategy").tag("strategy", "BASIC").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(meterRegistry.find("recommendation.strategy").timers()).hasSize(1);
+    }
+
+    @Test
+    void testRecommend_UnsupportedStrategy() {
+        RecommendationEngineContext context = new RecommendationEngineContext(List.of(), meterRegistry);
+
+        assertThatThrownBy(() -> context.recommend(List.of(), RecommendationStrategyType.BASIC, 3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(Constants.UNSUPPORTED_RECOMMENDATION_STRATEGY);
+    }
+}
@@ -0,0 +1,95 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RecommendationRuleStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path rulesFile;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        rulesFile = tempDir.resolve("rules.json");
+        meterRegistry = new SimpleMeterRegistry();
+        writeRules("{\"rules\":[{\"antecedent\":[\"pasta\"],\"consequents\":[\"sauce\"]}]}", 1_000L);
+    }
+
+    @Test
+    void testInitialLoad() {
+        RecommendationRuleStore store = createStore();
+
+        assertThat(store.current().version()).isEqualTo(1);
+        assertThat(store.current().rules().match(List.of("pasta"))).containsExactly("sauce");
+        assertThat(meterRegistry.get("recommendation.rules.version").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("recommendation.rules.reload").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testReloadIfModified_SwapsInNewVersion() throws IOException {
+        RecommendationRuleStore store = createStore();
+        RuleSnapshot initial = store.current();
+
+        writeRules("{\"rules\":[{\"antecedent\":[\"bread\"],\"consequents\":[\"butter\"]}]}", 2_000L);
+        store.reloadIfModified();
+
+        assertThat(store.current().version()).isEqualTo(2);
+        assertThat(store.current().rules().match(List.of("bread"))).containsExactly("butter");
+        assertThat(initial.rules().match(List.of("pasta"))).containsExactly("sauce");
+    }
+
+    @Test
+    void testReloadIfModified_UnchangedFileIsNotReloaded() {
+        RecommendationRuleStore store = createStore();
+
+        store.reloadIfModified();
+
+        assertThat(store.current().version()).isEqualTo(1);
+    }
+
+    @Test
+    void testReload_InvalidRulesKeepCurrentSnapshot() throws IOException {
+        RecommendationRuleStore store = createStore();
+
+        writeRules("{\"rules\":[{\"antecedent\":[],\"consequents\":[\"butter\"]}]}", 2_000L);
+
+        assertThat(store.reload()).isFalse();
+        assertThat(store.current().version()).isEqualTo(1);
+        assertThat(store.current().rules().match(List.of("pasta"))).containsExactly("sauce");
+    }
+
+    @Test
+    void testUnreadableSourceFailsAtStartup() throws IOException {
+        writeRules("not json", 2_000L);
+
+        assertThatThrownBy(this::createStore).isInstanceOf(IllegalStateException.class);
+    }
+
+    private RecommendationRuleStore createStore() {
+        return new RecommendationRuleStore(new FileSystemResource(rulesFile), new ObjectMapper(), meterRegistry);
+    }
+
+    private void writeRules(String json, long lastModified) throws IOException {
+        Files.writeString(rulesFile, json);
+        Files.setLastModifiedTime(rulesFile, FileTime.fromMillis(lastModified));
+    }
+}
@@ -0,0 +1,95 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.shoppinglist.mgmt.repository.ShoppingListItemCodeView;
+import com.shoppinglist.mgmt.repository.ShoppingListRepository;
+
+class RuleBasedRecommendationEngineTest {
+
+    private ShoppingListRepository shoppingListRepository;
+
+    private RuleBasedRecommendationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        shoppingListRepository = mock(ShoppingListRepository.class);
+        engine = new RuleBasedRecommendationEngine(shoppingListRepository, 2, 0.5, 5, 2, 10, 1000);
+    }
+
+    @Test
+    void testSuggest_BeforeMiningReturnsNothing() {
+        assertThat(engine.getType()).isEqualTo(RecommendationStrategyType.RULE_BASED);
+        assertThat(engine.suggest(List.of("pasta"))).isEmpty();
+    }
+
+    @Test
+    void testMine_ReadsListsInBatchesAndSuggestsFromMinedRules() {
+        when(shoppingListRepository.findActiveIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(shoppingListRepository.findActiveIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(shoppingListRepository.findItemCodesByListIds(List.of(1L, 2L))).thenReturn(List.of(
+                row(1L, "pasta"), row(1L, "sauce"), row(2L, "pasta"), row(2L, "sauce")));
+        when(shoppingListRepository.findItemCodesByListIds(List.of(3L))).thenReturn(List.of(
+                row(3L, "pasta"), row(3L, "cheese")));
+
+        engine.mine();
+
+        assertThat(engine.suggest(List.of("pasta"))).containsExactly("sauce");
+        assertThat(engine.suggest(List.of("sauce"))).containsExactly("pasta");
+    }
+
+    @Test
+    void testMine_OnlyReadsListsAfterTheLastMinedOne() {
+        when(shoppingListRepository.findActiveIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L));
+        when(shoppingListRepository.findItemCodesByListIds(List.of(1L))).thenReturn(List.of(row(1L, "pasta"), row(1L, "sauce")));
+        engine.mine();
+        assertThat(engine.suggest(List.of("pasta"))).isEmpty();
+
+        when(shoppingListRepository.findActiveIdsAfter(eq(1L), any(Pageable.class))).thenReturn(List.of(4L));
+        when(shoppingListRepository.findItemCodesByListIds(List.of(4L))).thenReturn(List.of(row(4L, "pasta"), row(4L, "sauce")));
+        engine.mine();
+
+        assertThat(engine.suggest(List.of("pasta"))).containsExactly("sauce");
+    }
+
+    @Test
+    void testMine_RebuildsWhenAMinedListWasUpdated() {
+        when(shoppingListRepository.findActiveIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(shoppingListRepository.findItemCodesByListIds(List.of(1L, 2L))).thenReturn(List.of(
+                row(1L, "pasta"), row(1L, "sauce"), row(2L, "pasta"), row(2L, "sauce")));
+        engine.mine();
+        assertThat(engine.suggest(List.of("pasta"))).containsExactly("sauce");
+
+        when(shoppingListRepository.existsUpdatedSince(eq(2L), any(Instant.class))).thenReturn(true);
+        when(shoppingListRepository.findItemCodesByListIds(List.of(1L, 2L))).thenReturn(List.of(
+                row(1L, "pasta"), row(1L, "sauce"), row(2L, "pasta"), row(2L, "cheese")));
+        engine.mine();
+
+        assertThat(engine.suggest(List.of("pasta"))).isEmpty();
+    }
+
+    private static ShoppingListItemCodeView row(Long listId, String itemCode) {
+        return new ShoppingListItemCodeView() {
+            @Override
+            public Long getListId() {
+                return listId;
+            }
+
+            @Override
+            public String getItemCode() {
+                return itemCode;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.shoppinglist.mgmt.suggestionengine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+    @Test
+    void testSelect_KeepsTheBestItemsBestFirst() {
+        List<ScoredItem> items = List.of(new ScoredItem("a", 1), new ScoredItem("b", 5), new ScoredItem("c", 3),
+                new ScoredItem("d", 4), new ScoredItem("e", 2));
+
+        assertThat(TopK.select(items, 3)).extracting(ScoredItem::itemCode).containsExactly("b", "d", "c");
+    }
+
+    @Test
+    void testSelect_TiesKeepTheOfferOrder() {
+        List<ScoredItem> items = List.of(new ScoredItem("a", 1), new ScoredItem("b", 2), new ScoredItem("c", 1),
+                new ScoredItem("d", 2), new ScoredItem("e", 1));
+
+        assertThat(TopK.select(items, 3)).extracting(ScoredItem::itemCode).containsExactly("b", "d", "a");
+    }
+
+    @Test
+    void testSelect_LimitLargerThanCandidatesOrZero() {
+        List<ScoredItem> items = List.of(new ScoredItem("a", 1), new ScoredItem("b", 2));
+
+        assertThat(TopK.select(items, 10)).extracting(ScoredItem::itemCode).containsExactly("b", "a");
+        assertThat(TopK.select(items, 0)).isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package com.shoppinglist.mgmt.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class CodeGeneratorTest {
+
+    private static final long NOW = CodeGenerator.EPOCH_MILLIS + 1_000_000;
+
+    @Test
+    void testNextCode_UniqueAcrossThreadsWithinTheSameMillisecond() throws Exception {
+        AtomicLong reads = new AtomicLong();
+        CodeGenerator generator = new CodeGenerator(7, () -> NOW + reads.incrementAndGet() / 10_000);
+        int threads = 8;
+        int perThread = 20_000;
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    barrier.await();
+                    for (int i = 0; i < perThread; i++) {
+                        codes.add(generator.nextCode("item"));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(codes).hasSize(threads * perThread);
+    }
+
+    @Test
+    void testNextId_MonotonicWhenTheClockGoesBackwards() {
+        AtomicLong clock = new AtomicLong(NOW);
+        CodeGenerator generator = new CodeGenerator(1, clock::get);
+
+        long first = generator.nextId();
+        clock.addAndGet(-5_000);
+        long second = generator.nextId();
+        clock.set(NOW + 10);
+        long third = generator.nextId();
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(third).isGreaterThan(second);
+    }
+
+    @Test
+    void testNextId_SequenceOverflowWaitsForTheNextMillisecond() {
+        int perMillisecond = 1 << CodeGenerator.SEQUENCE_BITS;
+        AtomicLong reads = new AtomicLong();
+        // the clock only moves on once the sequence of NOW is exhausted and the generator read it again
+        CodeGenerator generator = new CodeGenerator(3, () -> reads.incrementAndGet() <= perMillisecond + 100 ? NOW : NOW + 1);
+
+        long previous = generator.nextId();
+        for (int i = 1; i < perMillisecond + 10; i++) {
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+        long timestamp = previous >>> (CodeGenerator.NODE_BITS + CodeGenerator.SEQUENCE_BITS);
+
+        assertThat(timestamp).isEqualTo(NOW - CodeGenerator.EPOCH_MILLIS + 1);
+        assertThat(reads.get()).isGreaterThan(perMillisecond + 100);
+    }
+
+    @Test
+    void testNextId_FailsWhenTheClockIsFarBehindAnExhaustedMillisecond() {
+        AtomicLong clock = new AtomicLong(NOW);
+        CodeGenerator generator = new CodeGenerator(3, clock::get);
+        for (int i = 0; i < 1 << CodeGenerator.SEQUENCE_BITS; i++) {
+            generator.nextId();
+        }
+        clock.addAndGet(-CodeGenerator.MAX_CLOCK_BACKWARD_MILLIS - 1);
+
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testNextCode_FixedWidthAndSortedInGenerationOrder() {
+        AtomicLong clock = new AtomicLong(NOW);
+        CodeGenerator generator = new CodeGenerator(1023, clock::getAndIncrement);
+
+        String first = generator.nextCode("shplst");
+        String second = generator.nextCode("shplst");
+
+        assertThat(first).startsWith("shplst").hasSize(19).matches("shplst[0-9A-HJKMNP-TV-Z]{13}");
+        assertThat(second).hasSize(first.length()).isGreaterThan(first);
+    }
+
+    @Test
+    void testNextId_DifferentNodesNeverCollide() {
+        CodeGenerator first = new CodeGenerator(1, () -> NOW);
+        CodeGenerator second = new CodeGenerator(2, () -> NOW);
+
+        assertThat(first.nextId()).isNotEqualTo(second.nextId());
+    }
+
+    @Test
+    void testConstructor_RejectsNodeIdOutOfRange() {
+        assertThatThrownBy(() -> new CodeGenerator(1024, () -> NOW)).isInstanceOf(IllegalArgumentException.class);
+    }
+}